@@ -0,0 +1,90 @@
+package gui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The static part of the board, the background and the grid lines, rendered once into
+ * an offscreen image.
+ * * Task: The lines repeat every cell, so one image a cell larger than the panel covers
+ * any camera position: panning only shifts where it is drawn, and a frame costs a single
+ * image copy instead of a drawRect per cell. The image is created in the screen's native
+ * format, which Java2D keeps in video memory where the platform supports it. It is
+ * rebuilt only when the panel size, the cell size or the colours change.
+ * Methods: draw.
+ */
+public class BoardLayer {
+
+	private BufferedImage image;
+	private int cellSize;
+	private Color background;
+	private Color lineColor;
+
+	/**
+	 * Draws the grid of a board.
+	 * @param g         The target graphics.
+	 * @param xOffset   Panel x coordinate of the board's left edge.
+	 * @param yOffset   Panel y coordinate of the board's top edge.
+	 * @param gridSize  Cells per side.
+	 * @param cellSize  Pixels per cell.
+	 * @param width     Panel width.
+	 * @param height    Panel height.
+	 * @param background The cell colour.
+	 * @param lineColor  The grid line colour.
+	 * @param outside    The panel colour around the board.
+	 * @param config    The screen configuration, or null if the panel is not displayed yet.
+	 */
+	public void draw(Graphics2D g, int xOffset, int yOffset, int gridSize, int cellSize, int width, int height,
+			Color background, Color lineColor, Color outside, GraphicsConfiguration config) {
+		BufferedImage layer = getImage(cellSize, width, height, background, lineColor, config);
+
+		// The whole layer at the camera's phase, then the background over everything outside
+		// the board (including its closing line on the right and bottom). Changing the clip
+		// or copying a sub-rectangle instead would allocate on every frame.
+		g.drawImage(layer, Math.floorMod(xOffset, cellSize) - cellSize, Math.floorMod(yOffset, cellSize) - cellSize, null);
+
+		int boardPixels = gridSize * cellSize + 1;
+		int right = xOffset + boardPixels;
+		int bottom = yOffset + boardPixels;
+		g.setColor(outside);
+		if (xOffset > 0) g.fillRect(0, 0, xOffset, height);
+		if (right < width) g.fillRect(right, 0, width - right, height);
+		if (yOffset > 0) g.fillRect(0, 0, width, yOffset);
+		if (bottom < height) g.fillRect(0, bottom, width, height - bottom);
+	}
+
+	private BufferedImage getImage(int cellSize, int width, int height, Color background, Color lineColor,
+			GraphicsConfiguration config) {
+		int layerWidth = width + 2 * cellSize + 1;
+		int layerHeight = height + 2 * cellSize + 1;
+		if (image != null && cellSize == this.cellSize && background.equals(this.background)
+				&& lineColor.equals(this.lineColor)
+				&& image.getWidth() == layerWidth && image.getHeight() == layerHeight) {
+			return image;
+		}
+
+		if (image != null) image.flush();
+		image = config != null
+				? config.createCompatibleImage(layerWidth, layerHeight, Transparency.OPAQUE)
+				: new BufferedImage(layerWidth, layerHeight, BufferedImage.TYPE_INT_RGB);
+		this.cellSize = cellSize;
+		this.background = background;
+		this.lineColor = lineColor;
+
+		Graphics2D g = image.createGraphics();
+		g.setColor(background);
+		g.fillRect(0, 0, layerWidth, layerHeight);
+		g.setColor(lineColor);
+		for (int x = 0; x < layerWidth; x += cellSize) {
+			g.fillRect(x, 0, 1, layerHeight);
+		}
+		for (int y = 0; y < layerHeight; y += cellSize) {
+			g.fillRect(0, y, layerWidth, 1);
+		}
+		g.dispose();
+		return image;
+	}
+}
@@ -0,0 +1,153 @@
+package gui;
+
+/**
+ * The part of the board shown in the GamePanel: a zoom level (pixels per cell) and the
+ * board pixel at the top-left corner of the panel.
+ * * Task: Lets large boards be played at a readable cell size. Boards that fit the panel are
+ * shown whole and centred, as before; larger ones start at DEFAULT_CELL_SIZE around the
+ * player. The zoom never goes below MIN_CELL_SIZE, so the number of cells on screen (and
+ * with it the cost of a frame) is bounded by the panel size, not by the board size.
+ * Methods: update, zoom, pan, centerOn, ensureVisible, toCellX, toCellY, getCellSize, getOffsetX, getOffsetY.
+ */
+public class Camera {
+
+	public static final int MIN_CELL_SIZE = 10;
+	public static final int DEFAULT_CELL_SIZE = 32;
+	public static final int MAX_CELL_SIZE = 160;
+
+	private int viewWidth;
+	private int viewHeight;
+	private int gridSize;
+	private int minCellSize;
+
+	private int cellSize;
+	// True until the player zooms: the zoom then follows the panel size.
+	private boolean automatic = true;
+	// Board pixel shown at the panel's top-left corner; negative while the board is centred.
+	private int viewX;
+	private int viewY;
+
+	/**
+	 * Adapts the camera to the panel and board size. Called before every paint.
+	 * @return true if the visible area changed.
+	 */
+	public boolean update(int width, int height, int gridSize) {
+		if (width <= 0 || height <= 0 || gridSize <= 0) return false;
+		if (width == viewWidth && height == viewHeight && gridSize == this.gridSize) return false;
+
+		int fit = Math.min(width, height) / gridSize;
+		int centerX = viewX + viewWidth / 2;
+		int centerY = viewY + viewHeight / 2;
+		int oldCellSize = cellSize;
+
+		this.viewWidth = width;
+		this.viewHeight = height;
+		this.gridSize = gridSize;
+		this.minCellSize = Math.min(MAX_CELL_SIZE, Math.max(MIN_CELL_SIZE, fit));
+
+		if (automatic || oldCellSize == 0) {
+			cellSize = fit >= MIN_CELL_SIZE ? minCellSize : DEFAULT_CELL_SIZE;
+			viewX = (gridSize * cellSize - width) / 2;
+			viewY = (gridSize * cellSize - height) / 2;
+		} else {
+			// Keep the board point in the middle of the panel where it was.
+			cellSize = Math.max(minCellSize, cellSize);
+			viewX = (int) ((long) centerX * cellSize / oldCellSize) - width / 2;
+			viewY = (int) ((long) centerY * cellSize / oldCellSize) - height / 2;
+		}
+		clamp();
+		return true;
+	}
+
+	/**
+	 * Zooms by a factor, keeping the board point under the anchor pixel in place.
+	 * @return true if the zoom changed.
+	 */
+	public boolean zoom(double factor, int anchorX, int anchorY) {
+		int newSize = (int) Math.round(cellSize * factor);
+		if (newSize == cellSize) newSize += factor > 1 ? 1 : -1;
+		newSize = Math.max(minCellSize, Math.min(MAX_CELL_SIZE, newSize));
+		if (newSize == cellSize) return false;
+
+		automatic = false;
+		long boardX = (long) (viewX + anchorX) * newSize / cellSize;
+		long boardY = (long) (viewY + anchorY) * newSize / cellSize;
+		cellSize = newSize;
+		viewX = (int) boardX - anchorX;
+		viewY = (int) boardY - anchorY;
+		clamp();
+		return true;
+	}
+
+	/**
+	 * Moves the view by the given number of pixels (dragging the board to the right
+	 * shows the cells to its left).
+	 */
+	public void pan(int dx, int dy) {
+		viewX -= dx;
+		viewY -= dy;
+		clamp();
+	}
+
+	public void centerOn(int cellX, int cellY) {
+		viewX = cellX * cellSize + cellSize / 2 - viewWidth / 2;
+		viewY = cellY * cellSize + cellSize / 2 - viewHeight / 2;
+		clamp();
+	}
+
+	/**
+	 * Re-centres the view on a cell if it is closer than the margin to the panel edge.
+	 * @param margin Distance to the edge in cells (reduced on very small panels).
+	 * @return true if the view moved.
+	 */
+	public boolean ensureVisible(int cellX, int cellY, int margin) {
+		int marginX = Math.max(0, Math.min(margin, viewWidth / cellSize / 2 - 1)) * cellSize;
+		int marginY = Math.max(0, Math.min(margin, viewHeight / cellSize / 2 - 1)) * cellSize;
+		int px = cellX * cellSize - viewX;
+		int py = cellY * cellSize - viewY;
+		if (px >= marginX && px + cellSize <= viewWidth - marginX
+				&& py >= marginY && py + cellSize <= viewHeight - marginY) {
+			return false;
+		}
+
+		int oldX = viewX;
+		int oldY = viewY;
+		centerOn(cellX, cellY);
+		return viewX != oldX || viewY != oldY;
+	}
+
+	// Boards smaller than the panel stay centred; larger ones cannot be scrolled past their edge.
+	private void clamp() {
+		viewX = clampAxis(viewX, gridSize * cellSize, viewWidth);
+		viewY = clampAxis(viewY, gridSize * cellSize, viewHeight);
+	}
+
+	private static int clampAxis(int view, int boardPixels, int viewPixels) {
+		if (boardPixels <= viewPixels) {
+			return -(viewPixels - boardPixels) / 2;
+		}
+		return Math.max(0, Math.min(boardPixels - viewPixels, view));
+	}
+
+	public int toCellX(int pixelX) {
+		return Math.floorDiv(pixelX + viewX, cellSize);
+	}
+
+	public int toCellY(int pixelY) {
+		return Math.floorDiv(pixelY + viewY, cellSize);
+	}
+
+	public int getCellSize() {
+		return cellSize;
+	}
+
+	/** @return Panel x coordinate of the board's left edge. */
+	public int getOffsetX() {
+		return -viewX;
+	}
+
+	/** @return Panel y coordinate of the board's top edge. */
+	public int getOffsetY() {
+		return -viewY;
+	}
+}
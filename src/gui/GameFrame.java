@@ -1,12 +1,22 @@
 package gui;
 
 import logic.GameEngine;
+import logic.GameRandom;
+import logic.ResourceField;
+import io.AutoSaver;
 import io.FileManager;
 import io.GameLogger;
+import io.SaveSlots;
 
 import java.awt.*;
 import java.awt.event.*;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.swing.*;
 
 public class GameFrame extends JFrame {
@@ -19,10 +29,19 @@ public class GameFrame extends JFrame {
 	private StartPanel startPanel;
 	
 	private GameEngine engine;
+	private AutoSaver autoSaver;
+	private String currentSlot;
 	private CardLayout cardLayout;
 
 	private int currentGridSize = 20; 
 
+	/** Autosave slots of new games kept in the save list; older ones are deleted. */
+	private static final int MAX_AUTOSAVE_SLOTS = 10;
+
+	private static final float FOOD_FIELD_INITIAL_DENSITY = 0.3f;
+	private static final float FOOD_FIELD_REGROWTH = 0.05f;
+	private static final float FOOD_FIELD_DIFFUSION = 0.1f;
+
 	public GameFrame() {
 		setTitle("Food Chain Game");
 		
@@ -78,23 +97,39 @@ public class GameFrame extends JFrame {
 	}
 
 	public void startGame(int size, int rounds, String mode) {
+		startGame(size, rounds, mode, false);
+	}
+
+	/**
+	 * Starts a new game, optionally with a regrowing food field instead of a single food item.
+	 */
+	public void startGame(int size, int rounds, String mode, boolean foodField) {
 		try {
 			this.currentGridSize = size;
-			GameEngine newEngine = new GameEngine(size, rounds, mode);
-			initGameGUI(newEngine);
+			ResourceField field = foodField
+					? new ResourceField(size, FOOD_FIELD_INITIAL_DENSITY, FOOD_FIELD_REGROWTH, FOOD_FIELD_DIFFUSION)
+					: null;
+			String slot = newSlotName(mode);
+			GameLogger logger = FileManager.getLogFiles().newLogger(slot, GameLogger.DEFAULT_FLUSH_INTERVAL_MILLIS);
+			GameEngine newEngine = new GameEngine(size, rounds, mode, logger, new GameRandom(new SecureRandom().nextLong()), field);
+			initGameGUI(newEngine, slot);
 		} catch (Exception e) {
 			e.printStackTrace();
 			JOptionPane.showMessageDialog(this, "Exception: " + e.getMessage());
 		}
 	}
 
+	/**
+	 * Resumes the single save file of older versions (savegame.dat / savegame.txt).
+	 * From then on the game is saved into a new slot.
+	 */
 	public void loadSavedGame() {
 		if (!FileManager.isSaveFileAvailable()) return;
 
 		try {
 			GameEngine loadedEngine = FileManager.loadGame(); 
 			
-			initGameGUI(loadedEngine); 
+			initGameGUI(loadedEngine, newSlotName(loadedEngine.getCurrentMode())); 
 			JOptionPane.showMessageDialog(this, "Game Loaded!");
 			
 		} catch (IOException e) {
@@ -102,8 +137,40 @@ public class GameFrame extends JFrame {
 		}
 	}
 
-	private void initGameGUI(GameEngine newEngine) {
+	/**
+	 * Resumes a save slot. Only that slot's file is read; the game keeps logging
+	 * to the slot's log file.
+	 * @param slot The slot name from the save index.
+	 */
+	public void loadSavedGame(String slot) {
+		GameLogger logger = null;
+		try {
+			logger = FileManager.getLogFiles().newLogger(slot, GameLogger.DEFAULT_FLUSH_INTERVAL_MILLIS);
+			GameEngine loadedEngine = FileManager.getSaveSlots().load(slot, logger);
+
+			initGameGUI(loadedEngine, slot);
+			JOptionPane.showMessageDialog(this, "Game Loaded!");
+
+		} catch (IOException e) {
+			if (logger != null) logger.dispose();
+			e.printStackTrace();
+			JOptionPane.showMessageDialog(this, "Cannot load save '" + slot + "': " + e.getMessage());
+		}
+	}
+
+	private static String newSlotName(String mode) {
+		return SaveSlots.AUTOSAVE_PREFIX + mode + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+	}
+
+	private void initGameGUI(GameEngine newEngine, String slot) {
+		if (engine != null && engine.getLogger() != newEngine.getLogger()) {
+			engine.getLogger().dispose();
+		}
 		this.engine = newEngine; 
+		// A no-op for the era chosen on the start screen; a loaded save may be from another one.
+		SpriteLoader.preload(engine.getCurrentMode());
+
+		startAutoSave(slot);
 
 		gamePanel = new GamePanel(engine);
 		gamePanel.addMouseListener(new MouseAdapter() {
@@ -119,6 +186,7 @@ public class GameFrame extends JFrame {
 		if (oldCenter != null) gameContainer.remove(oldCenter);
 		
 		gameContainer.add(gamePanel, BorderLayout.CENTER);
+		infoPanel.resetMinimap(engine.getGrid().getSize(), engine.getEntities());
 		updateInfoLabels();
 		
 		gameContainer.revalidate();
@@ -130,13 +198,93 @@ public class GameFrame extends JFrame {
 
 	private void performManualSave() {
 		if (engine == null || engine.isGameOver()) return;
-		FileManager.saveGame(engine);
-		JOptionPane.showMessageDialog(this, "Game Saved successfully.");
+
+		String name = (String) JOptionPane.showInputDialog(this, "Save slot name:", "Save",
+				JOptionPane.PLAIN_MESSAGE, null, null, currentSlot);
+		if (name == null || name.trim().isEmpty()) return;
+
+		String slot = SaveSlots.sanitize(name);
+		if (!slot.equals(currentSlot)) {
+			startAutoSave(slot);
+		}
+		saveInBackground().whenComplete((done, error) -> SwingUtilities.invokeLater(() -> {
+			if (error == null) {
+				JOptionPane.showMessageDialog(this, "Game Saved successfully.");
+			} else {
+				showSaveError(error, "");
+			}
+		}));
+	}
+
+	private void showSaveError(Throwable error, String note) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException || cause instanceof UncheckedIOException) && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		JOptionPane.showMessageDialog(this, "Save failed: " + cause.getMessage() + note, "Save",
+				JOptionPane.ERROR_MESSAGE);
+	}
+
+	/**
+	 * Points the autosave at a slot. Every full save also refreshes the slot's index entry.
+	 * Nothing is written before the first full save (after the first round or a manual save);
+	 * the save that first adds a slot to the index also prunes the oldest autosave slots, so
+	 * starting many games does not fill the save list.
+	 */
+	private void startAutoSave(String slot) {
+		stopAutoSave();
+		SaveSlots slots = FileManager.getSaveSlots();
+		currentSlot = SaveSlots.sanitize(slot);
+		String target = currentSlot;
+		autoSaver = new AutoSaver(slots.slotPath(target), AutoSaver.DEFAULT_FULL_SAVE_INTERVAL,
+				snap -> {
+					if (slots.recordSave(target, snap)) {
+						slots.pruneAutosaves(MAX_AUTOSAVE_SLOTS);
+					}
+				});
+	}
+
+	/**
+	 * Hands a full save to the autosave thread, so the EDT never waits on disk I/O.
+	 * @return Completes when the save file has been written; exceptionally if that failed.
+	 */
+	private CompletableFuture<Void> saveInBackground() {
+		if (autoSaver != null) {
+			return autoSaver.saveNow(engine);
+		}
+		try {
+			FileManager.getSaveSlots().save(currentSlot, engine);
+			return CompletableFuture.completedFuture(null);
+		} catch (IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Waits for pending autosave writes and stops the autosave thread.
+	 */
+	private void stopAutoSave() {
+		if (autoSaver != null) {
+			autoSaver.shutdown();
+			autoSaver = null;
+		}
+	}
+
+	/**
+	 * Flushes and closes the current game's log file.
+	 */
+	private void closeGameLog() {
+		if (engine != null) {
+			engine.getLogger().dispose();
+		} else {
+			GameLogger.close();
+		}
 	}
 
 	private void confirmAndExit() {
 		if (engine == null || engine.isGameOver()) {
-			GameLogger.close();
+			stopAutoSave();
+			closeGameLog();
 			System.exit(0);
 			return;
 		}
@@ -149,10 +297,20 @@ public class GameFrame extends JFrame {
 		);
 
 		if (choice == JOptionPane.YES_OPTION) {
-			FileManager.saveGame(engine);
-			JOptionPane.showMessageDialog(this, "Saved. See you soon!");
-			System.exit(0);
+			// Exit only once the save is on disk; on failure the game stays open.
+			saveInBackground().whenComplete((done, error) -> SwingUtilities.invokeLater(() -> {
+				if (error != null) {
+					showSaveError(error, "\nThe game was not closed.");
+					return;
+				}
+				stopAutoSave();
+				closeGameLog();
+				JOptionPane.showMessageDialog(this, "Saved. See you soon!");
+				System.exit(0);
+			}));
 		} else if (choice == JOptionPane.NO_OPTION) {
+			stopAutoSave();
+			closeGameLog();
 			System.exit(0);
 		}
 	}
@@ -169,7 +327,12 @@ public class GameFrame extends JFrame {
 				}
 				
 				engine.processPlayerMove(gridPoint.x, gridPoint.y);
-				gamePanel.repaint();
+				if (autoSaver != null && !engine.isGameOver()) {
+					autoSaver.roundCompleted(engine);
+				}
+				gamePanel.animateLastMove();
+				infoPanel.updateMinimap(engine.getRoundMoves());
+				gamePanel.repaintChanges();
 				updateInfoLabels();
 				
 				if (engine.isGameOver()) {
@@ -208,7 +371,7 @@ public class GameFrame extends JFrame {
 		);
 
 		if (choice == JOptionPane.YES_OPTION) {
-			FileManager.saveGame(engine);
+			saveInBackground();
 			backToStartScreen();
 		} else if (choice == JOptionPane.NO_OPTION) {
 			backToStartScreen();
@@ -216,9 +379,13 @@ public class GameFrame extends JFrame {
 	}
 
 	public void backToStartScreen() {
+		stopAutoSave();
+		closeGameLog();
 		engine = null;
 		gamePanel = null;
 
+		startPanel.refreshSaves();
+
 		cardLayout.show(mainContainer, "START");
 	}
 }
\ No newline at end of file
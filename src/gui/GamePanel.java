@@ -1,183 +1,409 @@
 package gui;
 
-import java.util.List;
 import logic.GameEngine;
 import logic.Grid;
 import logic.Cell;
+import logic.ChangeSet;
+import logic.MoveTargets;
+import logic.ResourceField;
+import logic.VisitCounts;
 import model.Entity;
 import model.Food;
+import model.DietRules;
 import model.animals.Animal;
 
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
 import javax.swing.JPanel;
-import javax.imageio.ImageIO;
+import javax.swing.KeyStroke;
+import javax.swing.Timer;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
 
 public class GamePanel extends JPanel {
 
 	private static final long serialVersionUID = 1L;
 
+	private static final int FIELD_SHADES = 16;
+	private static final Color[] FIELD_COLORS = createFieldColors();
+	private static final Color GRID_COLOR = Color.LIGHT_GRAY;
+	private static final Color SPECIAL_HIGHLIGHT = new Color(255, 215, 0, 90);
+	private static final Color NORMAL_HIGHLIGHT = new Color(46, 204, 113, 90);
+	static final Color APEX_COLOR = new Color(220, 20, 60);
+	static final Color PREDATOR_COLOR = new Color(30, 144, 255);
+	static final Color PREY_COLOR = new Color(50, 205, 50);
+	static final Color FOOD_COLOR = new Color(255, 165, 0);
+	private static final int HEAT_SHADES = 16;
+	private static final Color[] HEAT_COLORS = createHeatColors();
+	/** How often the performance HUD's numbers are updated. */
+	private static final int HUD_REFRESH_MILLIS = 250;
+
 	private GameEngine engine;
 	
-	private Map<String, BufferedImage> imageCache;
+	private final SpriteCache sprites = new SpriteCache(this::repaint);
+	private final BoardLayer board = new BoardLayer();
+
+	// Reused by every paint, so that painting allocates nothing.
+	private final MoveTargets targets = new MoveTargets();
+	private final Rectangle clipBounds = new Rectangle();
+	private final Rectangle dirty = new Rectangle();
+
+	private final MoveAnimation animation = new MoveAnimation(this);
+	private final PerfHud hud = new PerfHud();
+	private final Timer hudTimer;
+	private boolean showHud;
+	private boolean showHeatmap;
+
+	private final Camera camera = new Camera();
 
+	// Layout of the last paint, taken from the camera.
 	private int cellSize;
+	private int gridSize;
+	private int xOffset;
+	private int yOffset;
+
+	/** Cells kept between the player and the panel edge before the view re-centres. */
+	private static final int FOLLOW_MARGIN = 3;
 
 	public GamePanel(GameEngine engine) {
 		this.engine = engine;
-		this.imageCache = new HashMap<>();
-		
+		engine.getChanges().clear();
+
 		this.setBackground(new Color(240, 240, 230));
+
+		MouseAdapter navigation = new MouseAdapter() {
+			private Point dragStart;
+
+			@Override
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				updateLayout();
+				if (cellSize > 0 && camera.zoom(Math.pow(1.25, -e.getPreciseWheelRotation()), e.getX(), e.getY())) {
+					repaint();
+				}
+			}
+
+			@Override
+			public void mousePressed(MouseEvent e) {
+				dragStart = e.getPoint();
+			}
+
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				if (dragStart == null || cellSize == 0) return;
+				camera.pan(e.getX() - dragStart.x, e.getY() - dragStart.y);
+				dragStart = e.getPoint();
+				repaint();
+			}
+
+			@Override
+			public void mouseReleased(MouseEvent e) {
+				dragStart = null;
+			}
+		};
+		addMouseListener(navigation);
+		addMouseMotionListener(navigation);
+		addMouseWheelListener(navigation);
+
+		hudTimer = new Timer(HUD_REFRESH_MILLIS, e -> {
+			hud.refresh(this.engine.getTimings(), animation.getSkippedFrames());
+			repaint(PerfHud.BOUNDS);
+		});
+
+		// F toggles the performance HUD, H the visit heatmap.
+		bindKey(KeyEvent.VK_F, "perfHud", () -> {
+			showHud = !showHud;
+			if (showHud) {
+				hudTimer.start();
+			} else {
+				hudTimer.stop();
+			}
+			repaint(PerfHud.BOUNDS);
+		});
+		bindKey(KeyEvent.VK_H, "heatmap", () -> {
+			showHeatmap = !showHeatmap;
+			repaint();
+		});
 	}
 
+	// The HUD timer only runs while the panel is displayed, so a replaced panel is not kept alive.
 	@Override
-	protected void paintComponent(Graphics g) {
-		super.paintComponent(g);
+	public void addNotify() {
+		super.addNotify();
+		if (showHud) hudTimer.start();
+	}
 
-		Grid grid = engine.getGrid();
-		int gridSize = grid.getSize();
+	@Override
+	public void removeNotify() {
+		hudTimer.stop();
+		animation.stop();
+		super.removeNotify();
+	}
 
-		int panelWidth = getWidth();
-		int panelHeight = getHeight();
-		
-		if (gridSize > 0) {
-			cellSize = Math.min(panelWidth, panelHeight) / gridSize;
+	private void bindKey(int keyCode, String name, Runnable action) {
+		getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keyCode, 0), name);
+		getActionMap().put(name, new AbstractAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				action.run();
+			}
+		});
+	}
+
+	/**
+	 * Replays the engine's last player move. The engine has already resolved it; the
+	 * animation only changes where the actors are drawn until it ends.
+	 */
+	public void animateLastMove() {
+		animation.start(engine.getRoundMoves(), getGraphicsConfiguration());
+	}
+
+	/**
+	 * Repaints only the cells the engine changed since the last call (moves, eats,
+	 * respawns and the player's highlight area), then clears the engine's change set.
+	 * Each area is painted on its own: RepaintManager would merge separate dirty
+	 * regions into their bounding box, which after a long dash or a respawn on the
+	 * other side of the board would be most of the board again. If the player got too
+	 * close to the edge of the view, the view follows and everything is repainted.
+	 * Must be called on the EDT.
+	 */
+	public void repaintChanges() {
+		ChangeSet changes = engine.getChanges();
+		updateLayout();
+		// The heatmap's colours are scaled to the busiest tile, so any move may recolour it all.
+		if (changes.isAll() || showHeatmap || cellSize == 0 || !isShowing() || followPlayer()) {
+			repaint();
 		} else {
-			cellSize = 50;
+			for (int i = 0; i < changes.size(); i++) {
+				if (cellBounds(changes.getMinX(i), changes.getMinY(i), changes.getMaxX(i), changes.getMaxY(i))) {
+					paintImmediately(dirty);
+				}
+			}
 		}
+		changes.clear();
+	}
+
+	/**
+	 * Schedules a repaint of a block of cells (inclusive bounds, clipped to the board).
+	 * @return true if part of the block is on screen, so that a paint will follow.
+	 */
+	boolean repaintCells(int x0, int y0, int x1, int y1) {
+		updateLayout();
+		if (cellSize == 0 || !isShowing() || !cellBounds(x0, y0, x1, y1)) return false;
+		repaint(dirty);
+		return true;
+	}
+
+	// Panel pixels of a block of cells into dirty; false if none of it is on screen.
+	private boolean cellBounds(int x0, int y0, int x1, int y1) {
+		x0 = Math.max(0, x0);
+		y0 = Math.max(0, y0);
+		x1 = Math.min(gridSize - 1, x1);
+		y1 = Math.min(gridSize - 1, y1);
+		if (x0 > x1 || y0 > y1) return false;
+
+		// One extra pixel for the right/bottom border of the last cells.
+		int px = xOffset + x0 * cellSize;
+		int py = yOffset + y0 * cellSize;
+		int width = (x1 - x0 + 1) * cellSize + 1;
+		int height = (y1 - y0 + 1) * cellSize + 1;
+		if (px >= getWidth() || py >= getHeight() || px + width <= 0 || py + height <= 0) return false;
+		dirty.setBounds(px, py, width, height);
+		return true;
+	}
+
+	private void updateLayout() {
+		gridSize = engine.getGrid().getSize();
+		if (camera.update(getWidth(), getHeight(), gridSize)) {
+			followPlayer();
+		}
+		cellSize = camera.getCellSize();
+		xOffset = camera.getOffsetX();
+		yOffset = camera.getOffsetY();
+	}
+
+	private boolean followPlayer() {
+		Animal player = engine.getPlayer();
+		if (player == null || camera.getCellSize() == 0) return false;
+		boolean moved = camera.ensureVisible(player.getX(), player.getY(), FOLLOW_MARGIN);
+		xOffset = camera.getOffsetX();
+		yOffset = camera.getOffsetY();
+		return moved;
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		long paintStart = System.nanoTime();
+		boolean animating = animation.isRunning();
+		if (animating) animation.update(paintStart);
+
+		// Same as super.paintComponent for an opaque panel, without the Graphics copy it makes.
+		g.setColor(getBackground());
+		g.fillRect(0, 0, getWidth(), getHeight());
+
+		Grid grid = engine.getGrid();
+		updateLayout();
+		if (cellSize == 0) return;
 
 		Graphics2D g2d = (Graphics2D) g;
 		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-		int totalGridSize = gridSize * cellSize;
-		
-		int xOffset = (panelWidth - totalGridSize) / 2;
-		int yOffset = (panelHeight - totalGridSize) / 2;
-		
-		boolean[][] normalMask = new boolean[gridSize][gridSize];
-		boolean[][] specialMask = new boolean[gridSize][gridSize];
-		
-		if (!engine.isGameOver() && engine.getPlayer() != null && engine.getPlayer().isAlive()) {
-			List<Point> normals = engine.getPlayerNormalMoveTargets();
-			for (Point p : normals) {
-				if (grid.isValidPosition(p.x, p.y)) normalMask[p.x][p.y] = true;
-			}
+		board.draw(g2d, xOffset, yOffset, gridSize, cellSize, getWidth(), getHeight(),
+				getBackground(), GRID_COLOR, getBackground(), getGraphicsConfiguration());
+
+		// Only the cells that intersect the clip (at most the panel, whatever the board size).
+		clipBounds.setBounds(0, 0, getWidth(), getHeight());
+		Rectangle clip = g.getClipBounds(clipBounds);
+		int minX = Math.max(0, Math.floorDiv(clip.x - xOffset, cellSize));
+		int minY = Math.max(0, Math.floorDiv(clip.y - yOffset, cellSize));
+		int maxX = Math.min(gridSize - 1, Math.floorDiv(clip.x + clip.width - 1 - xOffset, cellSize));
+		int maxY = Math.min(gridSize - 1, Math.floorDiv(clip.y + clip.height - 1 - yOffset, cellSize));
 
-			List<Point> specials = engine.getPlayerSpecialMoveTargets();
-			for (Point p : specials) {
-				if (grid.isValidPosition(p.x, p.y)) specialMask[p.x][p.y] = true;
+		ResourceField field = engine.getResourceField();
+		if (field != null) {
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					int shade = (int) (field.getDensity(x, y) * (FIELD_SHADES - 1));
+					g2d.setColor(FIELD_COLORS[shade]);
+					g2d.fillRect(xOffset + x * cellSize + 1, yOffset + y * cellSize + 1, cellSize - 1, cellSize - 1);
+				}
 			}
-			
+		}
+
+		if (showHeatmap) {
+			drawHeatmap(g2d, minX, minY, maxX, maxY);
+		}
+
+		// Move highlights: test the reusable target bitsets, only inside their window.
+		engine.collectPlayerTargets(targets);
+		if (!targets.isEmpty()) {
 			Animal player = engine.getPlayer();
-			int pxP = player.getX();
-			int pyP = player.getY();
-			if (grid.isValidPosition(pxP, pyP)) {
-				normalMask[pxP][pyP] = false;
-				specialMask[pxP][pyP] = false;
+			int hx0 = Math.max(minX, targets.getMinX());
+			int hy0 = Math.max(minY, targets.getMinY());
+			int hx1 = Math.min(maxX, targets.getMaxX());
+			int hy1 = Math.min(maxY, targets.getMaxY());
+			for (int x = hx0; x <= hx1; x++) {
+				for (int y = hy0; y <= hy1; y++) {
+					if (x == player.getX() && y == player.getY()) continue;
+
+					if (targets.isSpecial(x, y)) {
+						g2d.setColor(SPECIAL_HIGHLIGHT);
+					} else if (targets.isNormal(x, y)) {
+						g2d.setColor(NORMAL_HIGHLIGHT);
+					} else {
+						continue;
+					}
+					g2d.fillRect(xOffset + x * cellSize + 1, yOffset + y * cellSize + 1, cellSize - 1, cellSize - 1);
+				}
 			}
 		}
 
-		for (int x = 0; x < gridSize; x++) {
-			for (int y = 0; y < gridSize; y++) {
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
 				
 				int px = xOffset + (x * cellSize); 
 				int py = yOffset + (y * cellSize); 
-				
-				if (specialMask[x][y]) {
-					g2d.setColor(new Color(255, 215, 0, 90)); 
-					g2d.fillRect(px + 1, py + 1, cellSize - 1, cellSize - 1);
-				} else if (normalMask[x][y]) {
-					g2d.setColor(new Color(46, 204, 113, 90)); 
-					g2d.fillRect(px + 1, py + 1, cellSize - 1, cellSize - 1);
-				}
-
-				g2d.setColor(Color.LIGHT_GRAY);
-				g2d.drawRect(px, py, cellSize, cellSize);
 
 				Cell cell = grid.getCell(x, y);
 				if (!cell.isEmpty()) {
 					Entity entity = cell.getEntity();
-					BufferedImage img = getImageFor(entity);
-
-					if (img != null) {
-						g2d.drawImage(img, px + 2, py + 2, cellSize - 4, cellSize - 4, this);
-					} else {
-						drawFallbackShape(g2d, entity, px, py, cellSize);
-					}
+					// Actors of a running animation are drawn where the animation has them.
+					if (animating && animation.isAnimated(entity)) continue;
+					drawEntity(g2d, entity, px, py);
 				}
 			}
 		}
-	}
 
-	@Override
-	public Dimension getPreferredSize() {
-		int size = engine.getGrid().getSize() * 40; 
-		return new Dimension(size, size);
+		if (animating) {
+			for (int a = 0; a < animation.getActorCount(); a++) {
+				if (!animation.isVisible(a)) continue;
+				int px = xOffset + Math.round(animation.getX(a) * cellSize);
+				int py = yOffset + Math.round(animation.getY(a) * cellSize);
+				drawEntity(g2d, animation.getActor(a), px, py);
+			}
+		}
+
+		if (animating) {
+			animation.framePainted();
+		}
+		if (showHud) {
+			hud.draw(g2d);
+			hud.framePainted(paintStart, System.nanoTime());
+		}
 	}
-	
 
-	private BufferedImage getImageFor(Entity entity) {
-		String key;
+	private void drawEntity(Graphics2D g2d, Entity entity, int px, int py) {
+		BufferedImage img = sprites.get(entity.getSpriteKey(), cellSize - 4, getGraphicsConfiguration());
 
-		if (entity instanceof Food) {
-			Food food = (Food) entity;
-			
-			key = food.getName().toLowerCase().replaceAll("[\\s-]", "");
-		} else if (entity instanceof Animal) {
-			Animal animal = (Animal) entity;
-			key = animal.getName().toLowerCase().replaceAll("[\\s-]", "");
+		if (img != null) {
+			g2d.drawImage(img, px + 2, py + 2, this);
 		} else {
-			return null;
+			drawFallbackShape(g2d, entity, px, py, cellSize);
 		}
+	}
+
+	// Visited tiles of the visible area, from pale yellow (rarely) to red (the busiest tile).
+	private void drawHeatmap(Graphics2D g2d, int minX, int minY, int maxX, int maxY) {
+		VisitCounts visits = engine.getVisits();
+		int max = visits.getMax();
+		if (max == 0) return;
 
-		if (imageCache.containsKey(key)) {
-			return imageCache.get(key);
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				int count = visits.get(x, y);
+				if (count == 0) continue;
+				int shade = (int) (((long) count * (HEAT_SHADES - 1) + max - 1) / max);
+				g2d.setColor(HEAT_COLORS[shade]);
+				g2d.fillRect(xOffset + x * cellSize + 1, yOffset + y * cellSize + 1, cellSize - 1, cellSize - 1);
+			}
 		}
+	}
 
-		BufferedImage img = loadImage(key);
-		if (img != null) {
-			imageCache.put(key, img);
+	private static Color[] createHeatColors() {
+		Color[] colors = new Color[HEAT_SHADES];
+		for (int i = 0; i < HEAT_SHADES; i++) {
+			colors[i] = new Color(255, 230 - i * 230 / (HEAT_SHADES - 1), 0, 50 + i * 110 / (HEAT_SHADES - 1));
 		}
-		return img;
+		return colors;
 	}
 
-	private BufferedImage loadImage(String key) {
-		String path = "/images/" + key + ".png"; 
-		try {
-			URL url = getClass().getResource(path);
-			if (url == null) {
-				System.err.println("Image not found: " + path);
-				return null;
-			}
-			return ImageIO.read(url);
-		} catch (IOException e) {
-			return null;
+	private static Color[] createFieldColors() {
+		Color[] colors = new Color[FIELD_SHADES];
+		for (int i = 0; i < FIELD_SHADES; i++) {
+			colors[i] = new Color(34, 139, 34, i * 120 / (FIELD_SHADES - 1));
 		}
+		return colors;
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		int size = Math.min(engine.getGrid().getSize(), 20) * 40;
+		return new Dimension(size, size);
 	}
+	
 
 	private void drawFallbackShape(Graphics2D g2d, Entity entity, int px, int py, int size) {
 		int padding = 4;
 		int shapeSize = size - (padding * 2);
 
 		if (entity instanceof Animal) {
-			Animal animal = (Animal) entity;
-			String type = animal.getType(); 
-
-			switch (type) {
-				case "Apex":
-					g2d.setColor(new Color(220, 20, 60)); 
+			switch (entity.getRole()) {
+				case DietRules.APEX:
+					g2d.setColor(APEX_COLOR);
 					g2d.fillRect(px + padding, py + padding, shapeSize, shapeSize);
 					break;
-				case "Predator":
-					g2d.setColor(new Color(30, 144, 255)); 
+				case DietRules.PREDATOR:
+					g2d.setColor(PREDATOR_COLOR);
 					g2d.fillRect(px + padding, py + padding, shapeSize, shapeSize);
 					break;
-				case "Prey":
-					g2d.setColor(new Color(50, 205, 50)); 
+				case DietRules.PREY:
+					g2d.setColor(PREY_COLOR);
 					g2d.fillOval(px + padding, py + padding, shapeSize, shapeSize); 
 					break;
 				default:
@@ -186,7 +412,7 @@ public class GamePanel extends JPanel {
 			}
 		} 
 		else if (entity instanceof Food) {
-			g2d.setColor(new Color(255, 165, 0)); 
+			g2d.setColor(FOOD_COLOR);
 			g2d.fillOval(px + size/3, py + size/3, size/3, size/3); 
 		} 
 		else {
@@ -195,17 +421,16 @@ public class GamePanel extends JPanel {
 		}
 	}
 
+	/**
+	 * Maps a pixel of the panel to the cell shown there, through the camera.
+	 * @return The cell, or null if the pixel is outside the board.
+	 */
 	public Point getGridCoordinates(int pixelX, int pixelY) {
+		updateLayout();
 		if (cellSize == 0) return null;
-		
-		int gridSize = engine.getGrid().getSize();
-		int totalGridSize = gridSize * cellSize;
-		
-		int xOffset = (getWidth() - totalGridSize) / 2;
-		int yOffset = (getHeight() - totalGridSize) / 2;
-		
-		int gridX = (pixelX - xOffset) / cellSize;
-		int gridY = (pixelY - yOffset) / cellSize;
+
+		int gridX = camera.toCellX(pixelX);
+		int gridY = camera.toCellY(pixelY);
 		
 		if (engine.getGrid().isValidPosition(gridX, gridY)) {
 			return new Point(gridX, gridY);
@@ -219,5 +444,7 @@ public class GamePanel extends JPanel {
 
 	public void setEngine(GameEngine engine) {
 		this.engine = engine;
+		engine.getChanges().clear();
+		repaint();
 	}
 }
\ No newline at end of file
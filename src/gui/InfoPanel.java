@@ -1,5 +1,7 @@
 package gui;
 
+import logic.RoundMoves;
+import model.Entity;
 import model.animals.Animal;
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -7,6 +9,7 @@ import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
+import java.util.List;
 
 public class InfoPanel extends JPanel {
 
@@ -15,6 +18,7 @@ public class InfoPanel extends JPanel {
 	private JLabel lblPlayerName, lblPlayerScore, lblPlayerCooldown;
 	private JLabel lblPreyName, lblPreyScore, lblPreyCooldown;
 	private JLabel lblRemaining;
+	private Minimap minimap;
 
 	public InfoPanel() {
 		setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
@@ -35,6 +39,9 @@ public class InfoPanel extends JPanel {
 		add(Box.createRigidArea(new Dimension(0, 10)));
 
 		add(createPreyPanel());
+		add(Box.createRigidArea(new Dimension(0, 10)));
+
+		add(createMapPanel());
 	}
 
 	private JPanel createGameInfoPanel() {
@@ -105,6 +112,16 @@ public class InfoPanel extends JPanel {
 		return panel;
 	}
 
+	private JPanel createMapPanel() {
+		JPanel panel = createStyledPanel(Color.WHITE, "MAP");
+		panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 240));
+
+		minimap = new Minimap();
+		minimap.setAlignmentX(Component.CENTER_ALIGNMENT);
+		panel.add(minimap);
+		return panel;
+	}
+
 	private JPanel createStyledPanel(Color bgColor, String title) {
 		JPanel panel = new JPanel();
 		panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
@@ -130,6 +147,23 @@ public class InfoPanel extends JPanel {
 		label.setAlignmentX(Component.CENTER_ALIGNMENT);
 	}
 
+	/**
+	 * Shows a new board on the minimap.
+	 * @param gridSize The board size.
+	 * @param entities Every entity on the board.
+	 */
+	public void resetMinimap(int gridSize, List<Entity> entities) {
+		minimap.reset(gridSize, entities);
+	}
+
+	/**
+	 * Moves the minimap's entities as the last player move did.
+	 * @param moves The engine's records of the move.
+	 */
+	public void updateMinimap(RoundMoves moves) {
+		minimap.apply(moves);
+	}
+
 	public void updateStats(int round, int maxRounds, String era, Animal apex, Animal player, Animal prey) {
 		
 		lblRound.setText("Round: " + round);
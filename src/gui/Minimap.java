@@ -0,0 +1,143 @@
+package gui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import javax.swing.JComponent;
+
+import logic.RoundMoves;
+import model.DietRules;
+import model.Entity;
+
+/**
+ * A small overview of the whole board showing where the animals and the food are.
+ * * Task: Keeps track of the action on boards too large to see at once. The board is
+ * downsampled into an image of at most MAP_SIZE pixels per side (several cells per pixel on
+ * large boards, several pixels per cell on small ones). Each pixel counts the entities of
+ * every role inside it, and only the pixels an entity left or entered are redrawn after a
+ * move, from the engine's RoundMoves. Painting copies the image, so a frame costs the same
+ * whatever the board size.
+ * Methods: reset, apply.
+ */
+public class Minimap extends JComponent {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Largest side of the map image in pixels. */
+	private static final int MAP_SIZE = 160;
+	private static final Color BACKGROUND = new Color(240, 240, 230);
+	private static final Color BORDER = Color.DARK_GRAY;
+
+	// Colour of each role, in drawing priority: a pixel shows the first role present in it.
+	private static final int[] ROLE_RGB = new int[DietRules.ROLE_COUNT];
+	static {
+		ROLE_RGB[DietRules.APEX] = GamePanel.APEX_COLOR.getRGB();
+		ROLE_RGB[DietRules.PREDATOR] = GamePanel.PREDATOR_COLOR.getRGB();
+		ROLE_RGB[DietRules.PREY] = GamePanel.PREY_COLOR.getRGB();
+		ROLE_RGB[DietRules.FOOD] = GamePanel.FOOD_COLOR.getRGB();
+	}
+
+	private BufferedImage image;
+	private int gridSize;
+	private int cellsPerPixel = 1;
+	private int pixelsPerCell = 1;
+	private int side;
+	// Entities of each role per map pixel.
+	private int[][] counts;
+
+	public Minimap() {
+		setPreferredSize(new Dimension(MAP_SIZE + 2, MAP_SIZE + 2));
+		setMinimumSize(getPreferredSize());
+		setMaximumSize(getPreferredSize());
+	}
+
+	/**
+	 * Builds the map for a new board from its entities.
+	 * @param gridSize The board size.
+	 * @param entities Every entity on the board.
+	 */
+	public void reset(int gridSize, List<Entity> entities) {
+		this.gridSize = gridSize;
+		if (gridSize <= MAP_SIZE) {
+			cellsPerPixel = 1;
+			pixelsPerCell = MAP_SIZE / gridSize;
+			side = gridSize;
+		} else {
+			cellsPerPixel = (gridSize + MAP_SIZE - 1) / MAP_SIZE;
+			pixelsPerCell = 1;
+			side = (gridSize + cellsPerPixel - 1) / cellsPerPixel;
+		}
+
+		counts = new int[DietRules.ROLE_COUNT][side * side];
+		image = new BufferedImage(side * pixelsPerCell, side * pixelsPerCell, BufferedImage.TYPE_INT_RGB);
+		Graphics g = image.getGraphics();
+		g.setColor(BACKGROUND);
+		g.fillRect(0, 0, image.getWidth(), image.getHeight());
+		g.dispose();
+
+		for (Entity e : entities) {
+			add(e.getRole(), e.getX(), e.getY(), 1);
+		}
+		repaint();
+	}
+
+	/**
+	 * Updates the pixels touched by the last player move.
+	 * @param moves The engine's records of the move.
+	 */
+	public void apply(RoundMoves moves) {
+		if (counts == null) return;
+		for (int i = 0; i < moves.size(); i++) {
+			int role = moves.getEntity(i).getRole();
+			switch (moves.getKind(i)) {
+				case RoundMoves.MOVE:
+					add(role, moves.getFromX(i), moves.getFromY(i), -1);
+					add(role, moves.getToX(i), moves.getToY(i), 1);
+					break;
+				case RoundMoves.REMOVE:
+					add(role, moves.getFromX(i), moves.getFromY(i), -1);
+					break;
+				case RoundMoves.SPAWN:
+					add(role, moves.getFromX(i), moves.getFromY(i), 1);
+					break;
+				default:
+					break;
+			}
+		}
+		repaint();
+	}
+
+	private void add(int role, int x, int y, int delta) {
+		if (role < 0 || x < 0 || y < 0 || x >= gridSize || y >= gridSize) return;
+		int mx = x / cellsPerPixel;
+		int my = y / cellsPerPixel;
+		int pixel = mx * side + my;
+		counts[role][pixel] = Math.max(0, counts[role][pixel] + delta);
+
+		int rgb = BACKGROUND.getRGB();
+		for (int r = 0; r < DietRules.ROLE_COUNT; r++) {
+			if (counts[r][pixel] > 0) {
+				rgb = ROLE_RGB[r];
+				break;
+			}
+		}
+		for (int dx = 0; dx < pixelsPerCell; dx++) {
+			for (int dy = 0; dy < pixelsPerCell; dy++) {
+				image.setRGB(mx * pixelsPerCell + dx, my * pixelsPerCell + dy, rgb);
+			}
+		}
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		if (image == null) return;
+		int x = (getWidth() - image.getWidth()) / 2;
+		int y = (getHeight() - image.getHeight()) / 2;
+		g.drawImage(image, x, y, null);
+		g.setColor(BORDER);
+		g.drawRect(x - 1, y - 1, image.getWidth() + 1, image.getHeight() + 1);
+	}
+}
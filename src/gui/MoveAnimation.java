@@ -0,0 +1,260 @@
+package gui;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsConfiguration;
+
+import javax.swing.Timer;
+
+import logic.RoundMoves;
+import model.Entity;
+
+/**
+ * Replays the last player move on the board: each actor slides from its old cell to its
+ * new one, one after the other in the order the engine moved them, and eaten or respawned
+ * entities disappear or appear when the move that caused it ends.
+ * * Task: The engine resolves a round at once on the click; the animation only runs behind
+ * it on a Swing timer ticking at the display refresh rate, so it never holds back input or
+ * the next round. A click during an animation starts the next one from the board as it
+ * now is. Positions come from the time elapsed, not from the number of frames drawn, and a
+ * tick that arrives while the previous frame is still waiting to be painted is skipped, so
+ * a slow frame drops frames instead of slowing the animation down. The dropped frames are
+ * counted for the GamePanel's performance HUD.
+ * Methods: start, stop, isRunning, isAnimated, update, getActorCount, getActor, isVisible, getX, getY,
+ * framePainted, getSkippedFrames.
+ */
+public final class MoveAnimation {
+
+	/** Duration of one actor's move. */
+	private static final long MOVE_NANOS = 140_000_000L;
+	private static final int DEFAULT_REFRESH_RATE = 60;
+	private static final int CAPACITY = 16;
+
+	private final GamePanel panel;
+	private final Timer timer;
+
+	// Copy of the engine's records, which are cleared by the next click.
+	private final int[] kinds = new int[CAPACITY];
+	private final Entity[] entities = new Entity[CAPACITY];
+	private final int[] fromX = new int[CAPACITY];
+	private final int[] fromY = new int[CAPACITY];
+	private final int[] toX = new int[CAPACITY];
+	private final int[] toY = new int[CAPACITY];
+	// Move slot at whose start a record takes effect (a move runs from there to slot + 1).
+	private final int[] slots = new int[CAPACITY];
+	private int size;
+	private int moveCount;
+
+	// Cells each move slot touches, repainted while it runs.
+	private final int[] slotMinX = new int[CAPACITY];
+	private final int[] slotMinY = new int[CAPACITY];
+	private final int[] slotMaxX = new int[CAPACITY];
+	private final int[] slotMaxY = new int[CAPACITY];
+
+	// Distinct entities of the records and where they are at the current frame.
+	private final Entity[] actors = new Entity[CAPACITY];
+	private final boolean[] visible = new boolean[CAPACITY];
+	private final float[] cellX = new float[CAPACITY];
+	private final float[] cellY = new float[CAPACITY];
+	private int actorCount;
+
+	private long startNanos;
+	private int lastSlot;
+	private boolean running;
+	private boolean framePending;
+
+	private int skippedFrames;
+
+	public MoveAnimation(GamePanel panel) {
+		this.panel = panel;
+		this.timer = new Timer(1000 / DEFAULT_REFRESH_RATE, e -> tick());
+		this.timer.setCoalesce(true);
+	}
+
+	/**
+	 * Starts replaying the engine's records of the last player move. A running animation
+	 * is dropped (its actors are already at their new cells on the board).
+	 * @param moves  The engine's records.
+	 * @param config The panel's screen, for its refresh rate; may be null.
+	 */
+	public void start(RoundMoves moves, GraphicsConfiguration config) {
+		stop();
+		size = 0;
+		moveCount = 0;
+		actorCount = 0;
+		for (int i = 0; i < moves.size() && i < CAPACITY; i++) {
+			kinds[i] = moves.getKind(i);
+			entities[i] = moves.getEntity(i);
+			fromX[i] = moves.getFromX(i);
+			fromY[i] = moves.getFromY(i);
+			toX[i] = moves.getToX(i);
+			toY[i] = moves.getToY(i);
+			size++;
+
+			if (kinds[i] == RoundMoves.MOVE) {
+				slots[i] = moveCount;
+				resetSlot(moveCount);
+				addToSlot(moveCount, i);
+				moveCount++;
+			} else {
+				// Eats and respawns happen when the move that caused them ends.
+				slots[i] = moveCount;
+				if (moveCount > 0) addToSlot(moveCount - 1, i);
+			}
+			addActor(entities[i]);
+		}
+		if (moveCount == 0) {
+			clearRecords();
+			return;
+		}
+
+		timer.setDelay(Math.max(1, 1000 / refreshRate(config)));
+		startNanos = System.nanoTime();
+		lastSlot = 0;
+		framePending = false;
+		running = true;
+		update(startNanos);
+		timer.start();
+	}
+
+	/**
+	 * Ends the animation; the board shows every entity where the engine put it.
+	 */
+	public void stop() {
+		timer.stop();
+		if (!running) return;
+		running = false;
+		for (int s = 0; s < moveCount; s++) {
+			panel.repaintCells(slotMinX[s], slotMinY[s], slotMaxX[s], slotMaxY[s]);
+		}
+		clearRecords();
+	}
+
+	private void clearRecords() {
+		for (int i = 0; i < size; i++) {
+			entities[i] = null;
+		}
+		for (int a = 0; a < actorCount; a++) {
+			actors[a] = null;
+		}
+		size = 0;
+		actorCount = 0;
+	}
+
+	private static int refreshRate(GraphicsConfiguration config) {
+		if (config == null) return DEFAULT_REFRESH_RATE;
+		int rate = config.getDevice().getDisplayMode().getRefreshRate();
+		return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
+	}
+
+	private void resetSlot(int slot) {
+		slotMinX[slot] = Integer.MAX_VALUE;
+		slotMinY[slot] = Integer.MAX_VALUE;
+		slotMaxX[slot] = Integer.MIN_VALUE;
+		slotMaxY[slot] = Integer.MIN_VALUE;
+	}
+
+	private void addToSlot(int slot, int i) {
+		slotMinX[slot] = Math.min(slotMinX[slot], Math.min(fromX[i], toX[i]));
+		slotMinY[slot] = Math.min(slotMinY[slot], Math.min(fromY[i], toY[i]));
+		slotMaxX[slot] = Math.max(slotMaxX[slot], Math.max(fromX[i], toX[i]));
+		slotMaxY[slot] = Math.max(slotMaxY[slot], Math.max(fromY[i], toY[i]));
+	}
+
+	private void addActor(Entity e) {
+		if (isAnimated(e)) return;
+		actors[actorCount++] = e;
+	}
+
+	private void tick() {
+		long now = System.nanoTime();
+		int slot = (int) Math.min(moveCount, (now - startNanos) / MOVE_NANOS);
+		if (slot >= moveCount) {
+			stop();
+			return;
+		}
+		if (framePending) {
+			// The last frame has not been painted yet: drop this one rather than queue up.
+			skippedFrames++;
+			return;
+		}
+
+		// The running move, plus any whose end was skipped over since the last tick.
+		for (int s = lastSlot; s <= slot; s++) {
+			framePending |= panel.repaintCells(slotMinX[s], slotMinY[s], slotMaxX[s], slotMaxY[s]);
+		}
+		lastSlot = slot;
+	}
+
+	/**
+	 * Places every actor for the given time. Called by the panel before it paints a frame.
+	 * @param now The current System.nanoTime().
+	 */
+	public void update(long now) {
+		float t = (float) (now - startNanos) / MOVE_NANOS;
+		for (int a = 0; a < actorCount; a++) {
+			locate(a, t);
+		}
+	}
+
+	// Walks the actor's records up to the given time (in moves since the start).
+	private void locate(int a, float t) {
+		Entity actor = actors[a];
+		boolean first = true;
+		for (int i = 0; i < size; i++) {
+			if (entities[i] != actor) continue;
+
+			if (first) {
+				// Where the actor was before its first record: a spawned entity was not there yet.
+				visible[a] = kinds[i] != RoundMoves.SPAWN;
+				cellX[a] = fromX[i];
+				cellY[a] = fromY[i];
+				first = false;
+			}
+
+			float start = slots[i];
+			if (t < start) return;
+
+			if (kinds[i] == RoundMoves.MOVE) {
+				float p = Math.min(1f, t - start);
+				p = p * p * (3f - 2f * p);
+				cellX[a] = fromX[i] + (toX[i] - fromX[i]) * p;
+				cellY[a] = fromY[i] + (toY[i] - fromY[i]) * p;
+				visible[a] = true;
+			} else {
+				cellX[a] = toX[i];
+				cellY[a] = toY[i];
+				visible[a] = kinds[i] == RoundMoves.SPAWN;
+			}
+		}
+	}
+
+	/**
+	 * Records that the panel painted a frame, so that the next tick may request another.
+	 */
+	public void framePainted() {
+		framePending = false;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	/** @return true if the entity is drawn by the animation rather than from its cell. */
+	public boolean isAnimated(Entity e) {
+		for (int a = 0; a < actorCount; a++) {
+			if (actors[a] == e) return true;
+		}
+		return false;
+	}
+
+	public int getActorCount() { return actorCount; }
+	public Entity getActor(int a) { return actors[a]; }
+	public boolean isVisible(int a) { return visible[a]; }
+	/** @return The actor's column at the current frame, between cells while it moves. */
+	public float getX(int a) { return cellX[a]; }
+	/** @return The actor's row at the current frame, between cells while it moves. */
+	public float getY(int a) { return cellY[a]; }
+
+	/** @return Frames dropped by all animations so far. */
+	public int getSkippedFrames() { return skippedFrames; }
+}
@@ -0,0 +1,142 @@
+package gui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.lang.management.ManagementFactory;
+
+import logic.RoundTimings;
+
+/**
+ * The GamePanel's performance overlay: frame and paint time, the engine's time for the
+ * last round split into prey AI, player, apex AI and logging, and the heap allocation rate.
+ * * Task: Shows where the time goes during play without changing it much. A paint only
+ * stores two numbers in fixed rings of the last FRAMES frames; the text is built by
+ * refresh, which the panel calls a few times per second, and painting draws the cached
+ * lines. The allocation rate is sampled at each refresh from the JVM's per-thread
+ * allocation counters into a small ring of its own.
+ * Methods: framePainted, refresh, draw.
+ */
+public class PerfHud {
+
+	/** Frames kept for the averages and maxima. */
+	private static final int FRAMES = 120;
+	/** Allocation samples kept; at the panel's refresh rate, the last couple of seconds. */
+	private static final int ALLOC_SAMPLES = 8;
+	private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+
+	/** Where the overlay is drawn. */
+	public static final Rectangle BOUNDS = new Rectangle(8, 8, 330, 100);
+
+	private final long[] frameNanos = new long[FRAMES];
+	private final long[] paintNanos = new long[FRAMES];
+	private int frameNext;
+	private int frameCount;
+	private long lastPaintStart;
+
+	private final com.sun.management.ThreadMXBean threads;
+	private final long[] allocBytes = new long[ALLOC_SAMPLES];
+	private final long[] allocTimes = new long[ALLOC_SAMPLES];
+	private int allocNext;
+	private int allocCount;
+
+	private final String[] lines = { "collecting...", "", "", "", "" };
+
+	public PerfHud() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			threads = (com.sun.management.ThreadMXBean) bean;
+		} else {
+			threads = null;
+		}
+	}
+
+	/**
+	 * Records one paint of the panel.
+	 * @param start System.nanoTime() when the paint began.
+	 * @param end   System.nanoTime() when it ended.
+	 */
+	public void framePainted(long start, long end) {
+		frameNanos[frameNext] = lastPaintStart == 0 ? 0 : start - lastPaintStart;
+		paintNanos[frameNext] = end - start;
+		lastPaintStart = start;
+		frameNext = (frameNext + 1) % FRAMES;
+		if (frameCount < FRAMES) frameCount++;
+	}
+
+	/**
+	 * Samples the allocation counter and rebuilds the text.
+	 * @param timings       The engine's round timings.
+	 * @param skippedFrames Animation frames dropped so far.
+	 */
+	public void refresh(RoundTimings timings, int skippedFrames) {
+		int last = (frameNext + FRAMES - 1) % FRAMES;
+		lines[0] = String.format("frame  %6.1f ms  avg %6.1f  max %6.1f",
+				ms(frameNanos[last]), ms(average(frameNanos)), ms(max(frameNanos)));
+		lines[1] = String.format("paint  %6.2f ms  avg %6.2f  max %6.2f",
+				ms(paintNanos[last]), ms(average(paintNanos)), ms(max(paintNanos)));
+		lines[2] = String.format("engine %6.2f ms  avg %6.2f  max %6.2f",
+				ms(timings.getLast(RoundTimings.TOTAL)), ms(timings.getAverage(RoundTimings.TOTAL)),
+				ms(timings.getMax(RoundTimings.TOTAL)));
+		lines[3] = String.format(" prey %.2f  player %.2f  apex %.2f  log %.2f",
+				ms(timings.getLast(RoundTimings.PREY)), ms(timings.getLast(RoundTimings.PLAYER)),
+				ms(timings.getLast(RoundTimings.APEX)), ms(timings.getLast(RoundTimings.LOGGING)));
+		lines[4] = String.format("alloc  %s   skipped frames %d", allocationRate(), skippedFrames);
+	}
+
+	// Allocation rate of all threads over the kept samples.
+	private String allocationRate() {
+		long bytes = threads != null ? threads.getTotalThreadAllocatedBytes() : -1;
+		if (bytes < 0) return "n/a";
+
+		allocBytes[allocNext] = bytes;
+		allocTimes[allocNext] = System.nanoTime();
+		int newest = allocNext;
+		allocNext = (allocNext + 1) % ALLOC_SAMPLES;
+		if (allocCount < ALLOC_SAMPLES) allocCount++;
+		if (allocCount < 2) return "...";
+
+		int oldest = allocCount < ALLOC_SAMPLES ? 0 : allocNext;
+		double seconds = (allocTimes[newest] - allocTimes[oldest]) / 1e9;
+		double megabytes = (allocBytes[newest] - allocBytes[oldest]) / (1024.0 * 1024.0);
+		return String.format("%.2f MB/s", megabytes / seconds);
+	}
+
+	private long average(long[] ring) {
+		if (frameCount == 0) return 0;
+		long sum = 0;
+		for (int i = 0; i < frameCount; i++) {
+			sum += ring[i];
+		}
+		return sum / frameCount;
+	}
+
+	private long max(long[] ring) {
+		long max = 0;
+		for (int i = 0; i < frameCount; i++) {
+			max = Math.max(max, ring[i]);
+		}
+		return max;
+	}
+
+	private static double ms(long nanos) {
+		return nanos / 1e6;
+	}
+
+	/**
+	 * Draws the text of the last refresh.
+	 */
+	public void draw(Graphics2D g2d) {
+		Rectangle r = BOUNDS;
+		g2d.setColor(BACKGROUND);
+		g2d.fillRect(r.x, r.y, r.width, r.height);
+		g2d.setColor(Color.WHITE);
+		g2d.setFont(FONT);
+		for (int i = 0; i < lines.length; i++) {
+			g2d.drawString(lines[i], r.x + 6, r.y + 17 + i * 18);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package gui;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sprites for the board, pre-scaled to the current cell size.
+ * * Task: Every sprite is scaled once per cell size into an image in the screen's native
+ * (compatible) format, so painting a cell is a 1:1 copy that does not depend on the
+ * resolution of the source PNG. Only one size is kept: when the cell size changes
+ * (the window was resized) the scaled copies of the old size are dropped. The full-size
+ * images come from the SpriteLoader; a sprite that is still being decoded is reported as
+ * missing, so the caller draws a fallback, and the cache's listener is told once it is ready.
+ * Methods: get, getSource.
+ */
+public class SpriteCache {
+
+	private final Map<String, BufferedImage> scaled = new HashMap<>();
+	private int scaledSize = -1;
+
+	// Keys whose decode is pending and already has the listener attached.
+	private final Set<String> waiting = new HashSet<>();
+	private final Runnable onSpriteReady;
+
+	/**
+	 * @param onSpriteReady Run on the EDT when a sprite that was still being decoded becomes
+	 *                      available (typically the owner's repaint); may be null.
+	 */
+	public SpriteCache(Runnable onSpriteReady) {
+		this.onSpriteReady = onSpriteReady;
+	}
+
+	/**
+	 * Returns a sprite scaled to the given size. Must be called on the EDT.
+	 * @param key    The sprite key (see Entity.getSpriteKey).
+	 * @param size   Width and height in pixels.
+	 * @param config The target screen configuration, or null if the panel is not displayed yet.
+	 * @return The scaled sprite, or null if no sprite exists for the key or it is not decoded yet.
+	 */
+	public BufferedImage get(String key, int size, GraphicsConfiguration config) {
+		if (size <= 0) return null;
+
+		if (size != scaledSize) {
+			scaled.clear();
+			waiting.clear();
+			scaledSize = size;
+		}
+
+		BufferedImage image = scaled.get(key);
+		if (image == null) {
+			BufferedImage source = getSource(key);
+			if (source == null) return null;
+			image = scale(source, size, config);
+			scaled.put(key, image);
+		}
+		return image;
+	}
+
+	/**
+	 * Returns the full-size sprite (see SpriteLoader) without waiting for its decode.
+	 * Must be called on the EDT.
+	 * @param key The sprite key.
+	 * @return The decoded PNG, or null if it does not exist or is not decoded yet.
+	 */
+	public BufferedImage getSource(String key) {
+		// Attach the listener once per pending decode, not on every frame that misses it.
+		Runnable onReady = waiting.add(key) ? () -> spriteReady(key) : null;
+		BufferedImage source = SpriteLoader.getSource(key, onReady);
+		if (onReady != null && source != null) waiting.remove(key);
+		return source;
+	}
+
+	private void spriteReady(String key) {
+		waiting.remove(key);
+		if (onSpriteReady != null) onSpriteReady.run();
+	}
+
+	private static BufferedImage scale(BufferedImage source, int size, GraphicsConfiguration config) {
+		BufferedImage target = config != null
+				? config.createCompatibleImage(size, size, Transparency.TRANSLUCENT)
+				: new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+
+		Graphics2D g = target.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		g.drawImage(source, 0, 0, size, size, null);
+		g.dispose();
+		return target;
+	}
+}
@@ -0,0 +1,135 @@
+package gui;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+import io.FoodChainRegistry;
+import model.DietRules;
+import model.FoodChain;
+import model.Species;
+
+/**
+ * Decoded sprite images, loaded per era.
+ * * Task: When an era is selected on the start screen, every sprite of that era's food chains
+ * is decoded in parallel on a background pool, so the first frames of a game find them ready
+ * instead of decoding PNGs on the EDT. The selected era's set is held strongly; the sets of
+ * the other eras are only softly reachable, so the garbage collector drops them when memory
+ * runs short, and they are decoded again on demand. A sprite no set knows yet (another era,
+ * or a name from a saved game) is queued for decoding on first use and kept with the selected
+ * era. Nothing here ever waits for a decode: until a sprite is ready the caller gets null and
+ * draws its fallback shape, and is called back once the image is there.
+ * Methods: preload, getSource.
+ */
+public final class SpriteLoader {
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private static final ExecutorService pool = Executors.newFixedThreadPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+				Thread t = new Thread(r, "sprite-loader-" + threadCount.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			});
+
+	// Decoded (or decoding) sprites by sprite key; a null image means "no sprite".
+	private static final class SpriteSet {
+		final Map<String, CompletableFuture<BufferedImage>> sprites = new ConcurrentHashMap<>();
+	}
+
+	private static final Map<String, SoftReference<SpriteSet>> eras = new ConcurrentHashMap<>();
+	private static volatile SpriteSet selected = new SpriteSet();
+
+	private SpriteLoader() {
+	}
+
+	/**
+	 * Makes an era the selected one and starts decoding its sprites in the background.
+	 * Returns immediately; calling it again for the same era does not decode anything twice.
+	 * @param era The era ("Past", "Present", "Future").
+	 */
+	public static void preload(String era) {
+		FoodChainRegistry registry;
+		try {
+			registry = FoodChainRegistry.getDefault();
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Cannot preload sprites: " + e.getMessage());
+			return;
+		}
+
+		SpriteSet set = selectEra(era);
+		for (FoodChain chain : registry.getChains(era)) {
+			for (int role = 0; role < DietRules.ROLE_COUNT; role++) {
+				// Looked up by the species' key, decoded from the file the registry found for the
+				// name; the registry has already warned about names without one.
+				String fileKey = chain.getSpriteKey(role);
+				Species species = Species.of(chain.getName(role), role, era);
+				set.sprites.computeIfAbsent(species.getSpriteKey(), key -> fileKey != null
+						? CompletableFuture.supplyAsync(() -> decode(fileKey), pool)
+						: CompletableFuture.completedFuture(null));
+			}
+		}
+	}
+
+	private static synchronized SpriteSet selectEra(String era) {
+		SpriteSet set = null;
+		SoftReference<SpriteSet> ref = eras.get(era);
+		if (ref != null) set = ref.get();
+		if (set == null) {
+			set = new SpriteSet();
+			eras.put(era, new SoftReference<>(set));
+		}
+		selected = set;
+		return set;
+	}
+
+	/**
+	 * Returns a decoded sprite without waiting. If its decode is still running (or not started
+	 * yet, in which case it is queued on the pool), null is returned and onReady is run on the
+	 * EDT once the decode has finished.
+	 * @param key     The sprite key (see Entity.getSpriteKey).
+	 * @param onReady Run on the EDT when a pending sprite is ready (e.g. a repaint); may be null.
+	 * @return The full-size image, or null if no sprite exists for the key or it is not decoded yet.
+	 */
+	public static BufferedImage getSource(String key, Runnable onReady) {
+		CompletableFuture<BufferedImage> sprite = selected.sprites.get(key);
+		if (sprite == null) {
+			for (SoftReference<SpriteSet> ref : eras.values()) {
+				SpriteSet set = ref.get();
+				if (set != null && (sprite = set.sprites.get(key)) != null) break;
+			}
+		}
+		if (sprite == null) {
+			// Only the task is created inside computeIfAbsent; the PNG is decoded on the pool.
+			sprite = selected.sprites.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> decode(k), pool));
+		}
+		if (!sprite.isDone()) {
+			if (onReady != null) sprite.thenRun(() -> SwingUtilities.invokeLater(onReady));
+			return null;
+		}
+		return sprite.getNow(null);
+	}
+
+	private static BufferedImage decode(String key) {
+		String path = "/images/" + key + ".png";
+		try {
+			URL url = SpriteLoader.class.getResource(path);
+			if (url == null) {
+				System.err.println("Image not found: " + path);
+				return null;
+			}
+			return ImageIO.read(url);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+}
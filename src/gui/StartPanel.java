@@ -1,8 +1,13 @@
 package gui;
 
 import io.FileManager;
+import io.SaveSlots;
 import javax.swing.*;
 import java.awt.*;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 public class StartPanel extends JPanel {
 	
@@ -10,6 +15,12 @@ public class StartPanel extends JPanel {
 	private JTextField txtGridSize;
 	private JTextField txtRoundCount;
 	private JComboBox<String> cmbMode;
+	private JCheckBox chkFoodField;
+	private JComboBox<String> cmbSaves;
+	private JButton btnContinue;
+	private JButton btnDelete;
+	// Slot name per entry of cmbSaves; null stands for the legacy single save file.
+	private final List<String> saveSlotNames = new ArrayList<>();
 	private java.awt.image.BufferedImage bg;
 
 
@@ -74,9 +85,23 @@ public class StartPanel extends JPanel {
 		cmbMode.setSelectedIndex(1);
 		cmbMode.setForeground(Color.RED);
 		cmbMode.setBackground(Color.white);
+		// Decode the selected era's sprites while the player is still on this screen.
+		cmbMode.addActionListener(e -> SpriteLoader.preload((String) cmbMode.getSelectedItem()));
+		SpriteLoader.preload((String) cmbMode.getSelectedItem());
 			
 		add(cmbMode, gbc);
 
+		gbc.gridy++;
+		gbc.gridx = 0;
+		JLabel lblFoodField = new JLabel("Regrowing Food:");
+		lblFoodField.setForeground(Color.WHITE);
+		add(lblFoodField, gbc);
+
+		gbc.gridx = 1;
+		chkFoodField = new JCheckBox();
+		chkFoodField.setOpaque(false);
+		add(chkFoodField, gbc);
+
 		gbc.gridx = 0; 
 		gbc.gridy++; 
 		gbc.gridwidth = 2;
@@ -104,7 +129,7 @@ public class StartPanel extends JPanel {
 				}
 
 				String mode = (String) cmbMode.getSelectedItem();
-				gameFrame.startGame(size, rounds, mode);
+				gameFrame.startGame(size, rounds, mode, chkFoodField.isSelected());
 			} catch (Exception ex) {
 				JOptionPane.showMessageDialog(this, "Please enter numeric values.");
 			}
@@ -112,25 +137,37 @@ public class StartPanel extends JPanel {
 		add(btnNewGame, gbc);
 
 		gbc.gridy++;
-		JButton btnContinue = new JButton("Resume");
+		cmbSaves = new JComboBox<>();
+		cmbSaves.setBackground(Color.white);
+		add(cmbSaves, gbc);
+
+		gbc.gridy++;
+		btnContinue = new JButton("Resume");
 
-		btnContinue.setBackground(new Color(41, 128, 185));
 		btnContinue.setForeground(Color.WHITE);
 		btnContinue.setFocusPainted(false);
 		btnContinue.setBorderPainted(false);
 		btnContinue.setOpaque(true);
 		btnContinue.setPreferredSize(new Dimension(200, 40));
-		
-		if (FileManager.isSaveFileAvailable()) {
-			btnContinue.setEnabled(true);
-		} else {
-			btnContinue.setEnabled(false);
-			btnContinue.setBackground(Color.GRAY);
-			btnContinue.setText("No Saved Game");
-		}
 
-		btnContinue.addActionListener(e -> gameFrame.loadSavedGame());
+		btnContinue.addActionListener(e -> {
+			int selected = cmbSaves.getSelectedIndex();
+			if (selected < 0) return;
+			String slot = saveSlotNames.get(selected);
+			if (slot == null) {
+				gameFrame.loadSavedGame();
+			} else {
+				gameFrame.loadSavedGame(slot);
+			}
+		});
 		add(btnContinue, gbc);
+
+		gbc.gridy++;
+		btnDelete = new JButton("Delete Save");
+		btnDelete.setFocusPainted(false);
+		btnDelete.addActionListener(e -> deleteSelectedSave());
+		add(btnDelete, gbc);
+		refreshSaves();
 		
 		gbc.gridy++;
 		JButton btnExit = new JButton("Exit");
@@ -145,6 +182,52 @@ public class StartPanel extends JPanel {
 		add(btnExit, gbc);
 	}
 
+	private void deleteSelectedSave() {
+		int selected = cmbSaves.getSelectedIndex();
+		if (selected < 0 || saveSlotNames.get(selected) == null) return;
+		String slot = saveSlotNames.get(selected);
+
+		int choice = JOptionPane.showConfirmDialog(this, "Delete save '" + slot + "'?", "Delete Save",
+				JOptionPane.YES_NO_OPTION);
+		if (choice != JOptionPane.YES_OPTION) return;
+		try {
+			FileManager.getSaveSlots().delete(slot);
+		} catch (java.io.IOException ex) {
+			JOptionPane.showMessageDialog(this, "Cannot delete save '" + slot + "': " + ex.getMessage());
+		}
+		refreshSaves();
+	}
+
+	/**
+	 * Rebuilds the list of saved games from the save index alone; no save file is opened.
+	 */
+	public void refreshSaves() {
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+		cmbSaves.removeAllItems();
+		saveSlotNames.clear();
+
+		for (SaveSlots.SlotInfo info : FileManager.getSaveSlots().listSlots()) {
+			saveSlotNames.add(info.getName());
+			cmbSaves.addItem(String.format("%s - %s, round %d/%d, P:%d A:%d Pr:%d (%s)",
+					info.getName(), info.getEra(), info.getRound(), info.getMaxRounds(),
+					info.getPlayerScore(), info.getApexScore(), info.getPreyScore(),
+					dateFormat.format(new Date(info.getSavedAt()))));
+		}
+		if (FileManager.isSaveFileAvailable()) {
+			saveSlotNames.add(null);
+			cmbSaves.addItem("Previous save (savegame file)");
+		}
+
+		boolean hasSaves = !saveSlotNames.isEmpty();
+		cmbSaves.setVisible(hasSaves);
+		btnContinue.setEnabled(hasSaves);
+		btnContinue.setBackground(hasSaves ? new Color(41, 128, 185) : Color.GRAY);
+		btnContinue.setText(hasSaves ? "Resume" : "No Saved Game");
+		// The legacy save file is not a slot and cannot be deleted from here.
+		btnDelete.setVisible(saveSlotNames.stream().anyMatch(name -> name != null));
+		revalidate();
+	}
+
 	@Override
 	protected void paintComponent(java.awt.Graphics g) {
 	    super.paintComponent(g);
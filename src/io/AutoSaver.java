@@ -0,0 +1,134 @@
+package io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import logic.GameEngine;
+
+/**
+ * Background autosave for a running game.
+ * After every round the game thread takes a cheap snapshot and hands it to a single
+ * writer thread. Every {@code fullSaveInterval} rounds the writer replaces the save file
+ * atomically; in between it only appends a small per-round delta record, so the cost of
+ * an autosave does not grow with the board. In games with a resource field the densities
+ * are only written with the full save; each delta carries the round's bites instead and
+ * loading replays the ticks.
+ * * Task: Keeps file I/O off the game (Swing) thread.
+ * Methods: roundCompleted, shutdown.
+ */
+public class AutoSaver {
+
+	public static final int DEFAULT_FULL_SAVE_INTERVAL = 10;
+
+	private final Path savePath;
+	private final int fullSaveInterval;
+	private final ExecutorService writer;
+	private final Consumer<SaveSnapshot> onFullSave;
+
+	// Scheduling state, only touched by the game thread.
+	private boolean fullSaveScheduled;
+	private int roundsSinceFullSave;
+
+	// Checksum of the last full save, only touched by the writer thread.
+	private int baseChecksum;
+
+	/**
+	 * @param savePath         The save file to keep up to date.
+	 * @param fullSaveInterval Number of rounds between full saves.
+	 */
+	public AutoSaver(Path savePath, int fullSaveInterval) {
+		this(savePath, fullSaveInterval, null);
+	}
+
+	/**
+	 * @param savePath         The save file to keep up to date.
+	 * @param fullSaveInterval Number of rounds between full saves.
+	 * @param onFullSave       Called on the writer thread after each successful full save
+	 *                         (e.g. to update the save slot index); may be null.
+	 */
+	public AutoSaver(Path savePath, int fullSaveInterval, Consumer<SaveSnapshot> onFullSave) {
+		this.savePath = savePath;
+		this.onFullSave = onFullSave;
+		this.fullSaveInterval = Math.max(1, fullSaveInterval);
+		this.writer = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "autosave");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Records the state after a round. Must be called on the thread that runs the engine;
+	 * only the snapshot is taken here, the file is written in the background.
+	 * The first call always schedules a full save, so deltas always have a base.
+	 * @param engine The running game.
+	 */
+	public void roundCompleted(GameEngine engine) {
+		boolean full = !fullSaveScheduled || ++roundsSinceFullSave >= fullSaveInterval;
+		if (full) {
+			fullSaveScheduled = true;
+			roundsSinceFullSave = 0;
+		}
+
+		SaveSnapshot snap = full ? SaveSnapshot.of(engine) : SaveSnapshot.deltaOf(engine);
+		writer.execute(() -> {
+			try {
+				write(snap, full);
+			} catch (IOException e) {
+				System.err.println("Autosave failed: " + e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Schedules a full save right away (e.g. from the Save menu) without blocking the caller.
+	 * Goes through the same writer thread, so it never races with the autosave.
+	 * @param engine The running game.
+	 * @return Future completed once the save file has been replaced, or completed
+	 *         exceptionally (with an UncheckedIOException) if writing it failed.
+	 */
+	public CompletableFuture<Void> saveNow(GameEngine engine) {
+		fullSaveScheduled = true;
+		roundsSinceFullSave = 0;
+
+		SaveSnapshot snap = SaveSnapshot.of(engine);
+		return CompletableFuture.runAsync(() -> {
+			try {
+				write(snap, true);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, writer);
+	}
+
+	private void write(SaveSnapshot snap, boolean full) throws IOException {
+		if (full) {
+			baseChecksum = BinarySaveFormat.write(snap, savePath);
+			if (onFullSave != null) {
+				onFullSave.accept(snap);
+			}
+		} else {
+			BinarySaveFormat.appendDelta(snap, savePath, baseChecksum);
+		}
+	}
+
+	/**
+	 * Finishes pending writes and stops the writer thread.
+	 */
+	public void shutdown() {
+		writer.shutdown();
+		try {
+			if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+				System.err.println("Autosave did not finish in time.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,516 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import logic.GameEngine;
+import logic.Grid;
+import logic.ResourceField;
+import model.DietRules;
+import model.Entity;
+import model.Food;
+import model.GameState;
+import model.animals.Animal;
+
+/**
+ * Versioned binary save format, read and written through FileChannel and direct buffers.
+ * * Layout (little endian):
+ *   header   magic "FCSV", u16 version, u16 flags,
+ *            varint gridSize, varint round, varint maxRounds, string mode, 4 strings food chain,
+ *            [i64 RNG state]            (flag HAS_RANDOM)
+ *   strings  varint count, then each string (varint length + UTF-8 bytes)
+ *   entities varint count, then per entity: u8 role, varint name index, varint x, varint y,
+ *            and for animals zigzag-varint score, varint cooldown
+ *   field    [f32 regrowth, f32 diffusion, f32 grazed, size*size f32 densities] (flag HAS_FIELD)
+ *   trailer  u32 CRC32 of every byte before it
+ * Entity names go through the string table, so an entity row is usually 5-8 bytes.
+ * Between full saves, per-round delta records are appended to a separate "*.delta" file
+ * (see appendDelta); loading applies the newest valid record on top of the full save, and in
+ * a game with a resource field replays the field round by round from the records.
+ */
+public final class BinarySaveFormat {
+
+	public static final int MAGIC = 0x56534346; // "FCSV" read as little endian
+	public static final int VERSION = 1;
+
+	private static final int HAS_RANDOM = 1;
+	private static final int HAS_FIELD = 2;
+
+	private BinarySaveFormat() {
+	}
+
+	/**
+	 * Checks whether the file starts with the binary save magic.
+	 * @param path The save file.
+	 * @return true for a binary save, false for anything else (e.g. a legacy text save).
+	 * @throws IOException If the file cannot be read.
+	 */
+	public static boolean isBinarySave(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer head = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			while (head.hasRemaining() && channel.read(head) >= 0) {
+				// keep reading until the magic is complete or the file ends
+			}
+			return !head.hasRemaining() && head.getInt(0) == MAGIC;
+		}
+	}
+
+	/**
+	 * Writes the engine's state to the given file, replacing its contents atomically.
+	 * @param engine The game to save.
+	 * @param path   The target file.
+	 * @return The CRC32 of the written file, which delta records refer to.
+	 * @throws IOException If writing fails.
+	 */
+	public static int write(GameEngine engine, Path path) throws IOException {
+		return write(SaveSnapshot.of(engine), path);
+	}
+
+	/**
+	 * Writes a snapshot to "path.tmp", forces it to disk and renames it over the target,
+	 * so a crash mid-write leaves the previous save intact. Any delta file of the previous
+	 * save is removed afterwards.
+	 * @param snap The state to save.
+	 * @param path The target file.
+	 * @return The CRC32 of the written file, which delta records refer to.
+	 * @throws IOException If writing fails.
+	 */
+	public static int write(SaveSnapshot snap, Path path) throws IOException {
+		int n = snap.roles.length;
+
+		List<String> names = new ArrayList<>();
+		int[] nameIndex = new int[n];
+		for (int i = 0; i < n; i++) {
+			int index = names.indexOf(snap.names[i]);
+			if (index < 0) {
+				index = names.size();
+				names.add(snap.names[i]);
+			}
+			nameIndex[i] = index;
+		}
+
+		int capacity = 64 + stringBytes(snap.mode) + n * 32;
+		for (String s : snap.foodChain) capacity += stringBytes(s);
+		for (String s : names) capacity += stringBytes(s);
+		if (snap.fieldDensities != null) capacity += 12 + 4 * snap.fieldDensities.length;
+
+		ByteBuffer buf = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+
+		int flags = 0;
+		if (snap.hasRandomState) flags |= HAS_RANDOM;
+		if (snap.fieldDensities != null) flags |= HAS_FIELD;
+
+		buf.putInt(MAGIC);
+		buf.putShort((short) VERSION);
+		buf.putShort((short) flags);
+		putVarint(buf, snap.gridSize);
+		putVarint(buf, snap.round);
+		putVarint(buf, snap.maxRounds);
+		putString(buf, snap.mode);
+		for (String s : snap.foodChain) putString(buf, s);
+		if (snap.hasRandomState) {
+			buf.putLong(snap.randomState);
+		}
+
+		putVarint(buf, names.size());
+		for (String s : names) putString(buf, s);
+
+		putVarint(buf, n);
+		for (int i = 0; i < n; i++) {
+			buf.put((byte) snap.roles[i]);
+			putVarint(buf, nameIndex[i]);
+			putVarint(buf, snap.xs[i]);
+			putVarint(buf, snap.ys[i]);
+			if (snap.roles[i] != DietRules.FOOD) {
+				putVarint(buf, zigzag(snap.scores[i]));
+				putVarint(buf, snap.cooldowns[i]);
+			}
+		}
+
+		if (snap.fieldDensities != null) {
+			buf.putFloat(snap.fieldRegrowthRate);
+			buf.putFloat(snap.fieldDiffusionRate);
+			buf.putFloat(snap.grazed);
+			buf.asFloatBuffer().put(snap.fieldDensities);
+			buf.position(buf.position() + 4 * snap.fieldDensities.length);
+		}
+
+		CRC32 crc = new CRC32();
+		buf.flip();
+		crc.update(buf.duplicate());
+		int checksum = (int) crc.getValue();
+		buf.limit(buf.limit() + 4);
+		buf.putInt(buf.limit() - 4, checksum);
+
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) Files.createDirectories(parent);
+
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buf.hasRemaining()) {
+				channel.write(buf);
+			}
+			channel.force(true);
+		}
+		try {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		Files.deleteIfExists(deltaPathFor(path));
+		return checksum;
+	}
+
+	/**
+	 * @param savePath A save file.
+	 * @return The file holding the per-round delta records of that save.
+	 */
+	public static Path deltaPathFor(Path savePath) {
+		return savePath.resolveSibling(savePath.getFileName() + ".delta");
+	}
+
+	/**
+	 * Appends one per-round delta record to the save's delta file. A record holds the
+	 * round, RNG state and every entity row, so its size does not depend on the board.
+	 * Record layout: u32 payload length, payload, u32 CRC32 of the payload, where the payload is
+	 * i32 base checksum, varint round, u8 flags, [i64 RNG state], f32 grazed, varint count,
+	 * then per entity u8 role, varint x, varint y, zigzag-varint score, varint cooldown,
+	 * then [varint bite count, per bite varint tile (x * size + y), f32 amount] (flag HAS_FIELD).
+	 * The field changes deterministically between rounds (one tick, then the prey's bites), so
+	 * a record carries the bites instead of the densities and loading replays the ticks.
+	 * @param snap     The state after the round.
+	 * @param savePath The full save the record builds on.
+	 * @param baseCrc  The checksum of that full save.
+	 * @throws IOException If writing fails.
+	 */
+	public static void appendDelta(SaveSnapshot snap, Path savePath, int baseCrc) throws IOException {
+		int n = snap.roles.length;
+		ByteBuffer buf = ByteBuffer.allocateDirect(52 + n * 24).order(ByteOrder.LITTLE_ENDIAN);
+
+		int flags = 0;
+		if (snap.hasRandomState) flags |= HAS_RANDOM;
+		if (snap.hasField) flags |= HAS_FIELD;
+
+		buf.position(4);
+		buf.putInt(baseCrc);
+		putVarint(buf, snap.round);
+		buf.put((byte) flags);
+		if (snap.hasRandomState) buf.putLong(snap.randomState);
+		buf.putFloat(snap.grazed);
+		putVarint(buf, n);
+		for (int i = 0; i < n; i++) {
+			buf.put((byte) snap.roles[i]);
+			putVarint(buf, snap.xs[i]);
+			putVarint(buf, snap.ys[i]);
+			putVarint(buf, zigzag(snap.scores[i]));
+			putVarint(buf, snap.cooldowns[i]);
+		}
+		if (snap.hasField) {
+			if (snap.grazeTile >= 0) {
+				putVarint(buf, 1);
+				putVarint(buf, snap.grazeTile);
+				buf.putFloat(snap.grazeTaken);
+			} else {
+				putVarint(buf, 0);
+			}
+		}
+
+		int payloadLength = buf.position() - 4;
+		buf.putInt(0, payloadLength);
+
+		CRC32 crc = new CRC32();
+		crc.update(buf.duplicate().position(4).limit(4 + payloadLength));
+		buf.putInt((int) crc.getValue());
+		buf.flip();
+
+		try (FileChannel channel = FileChannel.open(deltaPathFor(savePath), StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			while (buf.hasRemaining()) {
+				channel.write(buf);
+			}
+		}
+	}
+
+	/**
+	 * Reads the checksum stored in a save file's trailer.
+	 * @param path The save file.
+	 * @return The stored CRC32.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public static int checksumOf(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer tail = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			channel.read(tail, channel.size() - 4);
+			return tail.getInt(0);
+		}
+	}
+
+	/**
+	 * Applies the newest valid delta record of a save to its loaded state. In a game with a
+	 * resource field every record from the full save's round on is applied in order instead,
+	 * replaying each round's tick and bites, up to the first missing round.
+	 * Records for another base save, from earlier rounds, or cut short by a crash are ignored.
+	 * @param state    The state read from the full save.
+	 * @param savePath The full save.
+	 * @param baseCrc  The checksum of the full save.
+	 * @throws IOException If the delta file cannot be read.
+	 */
+	public static void applyDeltas(GameState state, Path savePath, int baseCrc) throws IOException {
+		Path deltaPath = deltaPathFor(savePath);
+		if (!Files.exists(deltaPath)) return;
+
+		ByteBuffer buf;
+		try (FileChannel channel = FileChannel.open(deltaPath, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) return;
+			buf = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+			while (buf.hasRemaining() && channel.read(buf) >= 0) {
+				// read the whole file
+			}
+			buf.flip();
+		}
+
+		List<Integer> records = new ArrayList<>();
+		while (buf.remaining() >= 8) {
+			int start = buf.position();
+			int length = buf.getInt(start);
+			if (length <= 0 || length > buf.remaining() - 8) break;
+
+			CRC32 crc = new CRC32();
+			crc.update(buf.duplicate().position(start + 4).limit(start + 4 + length));
+			if ((int) crc.getValue() != buf.getInt(start + 4 + length)) break;
+
+			if (buf.getInt(start + 4) == baseCrc) {
+				records.add(start);
+			}
+			buf.position(start + 8 + length);
+		}
+		if (records.isEmpty()) return;
+
+		try {
+			float[] densities = state.getFieldDensities();
+			if (densities == null) {
+				buf.position(records.get(records.size() - 1) + 8);
+				int round = getVarint(buf);
+				if (round > state.getRound()) applyRecord(state, buf, round, null);
+				return;
+			}
+
+			ResourceField field = new ResourceField(state.getGrid().getSize(), 0f,
+					state.getFieldRegrowthRate(), state.getFieldDiffusionRate());
+			field.setDensities(densities);
+			for (int start : records) {
+				buf.position(start + 8);
+				int round = getVarint(buf);
+				if (round != state.getRound() + 1) break;
+				if ((buf.get(buf.position()) & HAS_FIELD) == 0) break;
+				applyRecord(state, buf, round, field);
+			}
+			state.setField(field.getDensities(), field.getRegrowthRate(), field.getDiffusionRate(), state.getGrazed());
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt delta record: " + e, e);
+		}
+	}
+
+	/**
+	 * Applies one delta record, read from just after its round, on top of the state.
+	 * @param round The record's round.
+	 * @param field The field to advance by the record's round, or null.
+	 */
+	private static void applyRecord(GameState state, ByteBuffer buf, int round, ResourceField field) throws IOException {
+		int flags = buf.get();
+		if ((flags & HAS_RANDOM) != 0) state.setRandomState(buf.getLong());
+		float grazed = buf.getFloat();
+
+		Grid grid = state.getGrid();
+		List<Entity> byRole = new ArrayList<>();
+		for (Animal a : state.getAnimals()) byRole.add(a);
+		if (state.getFood() != null) byRole.add(state.getFood());
+		for (Entity e : byRole) grid.removeEntity(e);
+
+		int count = getVarint(buf);
+		for (int i = 0; i < count; i++) {
+			int role = buf.get();
+			int x = getVarint(buf);
+			int y = getVarint(buf);
+			int zigzag = getVarint(buf);
+			int cooldown = getVarint(buf);
+
+			for (Entity e : byRole) {
+				if (e.getRole() != role) continue;
+				e.setPosition(x, y);
+				if (e instanceof Animal) {
+					Animal a = (Animal) e;
+					a.setPosition(new java.awt.Point(x, y));
+					a.addScore(unzigzag(zigzag) - a.getScore());
+					a.setCooldown(cooldown);
+				}
+			}
+		}
+		for (Entity e : byRole) grid.placeEntity(e, e.getX(), e.getY());
+
+		if (field != null) {
+			field.tick();
+			int bites = getVarint(buf);
+			for (int i = 0; i < bites; i++) {
+				int tile = getVarint(buf);
+				field.deplete(tile / field.getSize(), tile % field.getSize(), buf.getFloat());
+			}
+		}
+
+		state.setRound(round);
+		state.setGrazed(grazed);
+	}
+
+	/**
+	 * Reads a binary save into a GameState, verifying version and checksum.
+	 * @param path The save file.
+	 * @return The saved state.
+	 * @throws IOException If the file is unreadable, corrupt or of an unknown version.
+	 */
+	public static GameState read(Path path) throws IOException {
+		ByteBuffer buf;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < 12 || size > Integer.MAX_VALUE) {
+				throw new IOException("Invalid save file size: " + size);
+			}
+			buf = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+			while (buf.hasRemaining() && channel.read(buf) >= 0) {
+				// read the whole file
+			}
+			if (buf.hasRemaining()) {
+				throw new IOException("Save file ended early.");
+			}
+			buf.flip();
+		}
+
+		int stored = buf.getInt(buf.limit() - 4);
+		CRC32 crc = new CRC32();
+		crc.update(buf.duplicate().limit(buf.limit() - 4));
+		if ((int) crc.getValue() != stored) {
+			throw new IOException("Save file checksum mismatch.");
+		}
+		buf.limit(buf.limit() - 4);
+
+		try {
+			if (buf.getInt() != MAGIC) {
+				throw new IOException("Not a binary save file.");
+			}
+			int version = buf.getShort() & 0xFFFF;
+			if (version != VERSION) {
+				throw new IOException("Unsupported save version: " + version);
+			}
+			int flags = buf.getShort() & 0xFFFF;
+
+			int gridSize = getVarint(buf);
+			int round = getVarint(buf);
+			int maxRounds = getVarint(buf);
+			String mode = getString(buf);
+			String[] chain = new String[4];
+			for (int i = 0; i < chain.length; i++) chain[i] = getString(buf);
+			long randomState = (flags & HAS_RANDOM) != 0 ? buf.getLong() : 0;
+
+			String[] names = new String[getVarint(buf)];
+			for (int i = 0; i < names.length; i++) names[i] = getString(buf);
+
+			Grid grid = new Grid(gridSize);
+			List<Animal> animals = new ArrayList<>();
+			Food food = null;
+			int count = getVarint(buf);
+			for (int i = 0; i < count; i++) {
+				int role = buf.get();
+				String name = names[getVarint(buf)];
+				int x = getVarint(buf);
+				int y = getVarint(buf);
+
+				if (role == DietRules.FOOD) {
+					food = new Food(x, y, name);
+					grid.placeEntity(food, x, y);
+				} else {
+					int score = unzigzag(getVarint(buf));
+					int cooldown = getVarint(buf);
+
+					Animal animal = new Animal(name, DietRules.roleName(role), mode, x, y);
+					animal.addScore(score);
+					animal.setCooldown(cooldown);
+					grid.placeEntity(animal, x, y);
+					animals.add(animal);
+				}
+			}
+
+			GameState state = new GameState(round, maxRounds, mode, grid, animals);
+			state.setFoodChainNames(chain);
+			state.setFood(food);
+			if ((flags & HAS_RANDOM) != 0) {
+				state.setRandomState(randomState);
+			}
+			if ((flags & HAS_FIELD) != 0) {
+				float regrowth = buf.getFloat();
+				float diffusion = buf.getFloat();
+				float grazed = buf.getFloat();
+				float[] densities = new float[gridSize * gridSize];
+				buf.asFloatBuffer().get(densities);
+				state.setField(densities, regrowth, diffusion, grazed);
+			}
+			return state;
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt save file: " + e, e);
+		}
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static int stringBytes(String s) {
+		return 5 + s.length() * 3;
+	}
+
+	private static void putVarint(ByteBuffer buf, int value) {
+		while ((value & ~0x7F) != 0) {
+			buf.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buf.put((byte) value);
+	}
+
+	private static int getVarint(ByteBuffer buf) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte b = buf.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IOException("Malformed varint.");
+	}
+
+	private static void putString(ByteBuffer buf, String s) {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		putVarint(buf, bytes.length);
+		buf.put(bytes);
+	}
+
+	private static String getString(ByteBuffer buf) throws IOException {
+		byte[] bytes = new byte[getVarint(buf)];
+		buf.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
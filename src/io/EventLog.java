@@ -0,0 +1,151 @@
+package io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary event log of one game, written next to (or instead of) the text log.
+ * * Layout (little-endian): a header with MAGIC, VERSION, grid size, max rounds, the era
+ * and the four food chain names (each as a u16 length plus UTF-8 bytes), followed by
+ * fixed-width {@value #RECORD_SIZE}-byte records:
+ * [0] type, [1] actor role, [2] other role, [3] unused, [4..7] round, [8..11] a, [12..15] b.
+ * * MOVE: a/b = from/to packed as (x << 16 | y). ABILITY: actor only.
+ * EAT: other = victim role, a = points gained, b = points lost.
+ * ROUND_END: a/b = low/high half of the state hash. GAME_OVER: actor = winner role (-1 for a draw).
+ * * Task: Cheap to write (no formatting, one buffered channel write per 64 KB) and trivial
+ * to scan back (see main.LogAnalyzer). Not thread-safe: one game thread writes one log.
+ */
+public final class EventLog implements Closeable {
+
+	public static final int MAGIC = 0x56454346; // "FCEV"
+	public static final int VERSION = 1;
+	public static final int RECORD_SIZE = 16;
+
+	public static final byte MOVE = 1;
+	public static final byte ABILITY = 2;
+	public static final byte EAT = 3;
+	public static final byte ROUND_END = 4;
+	public static final byte GAME_OVER = 5;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	private boolean failed;
+
+	private EventLog(Path path, FileChannel channel) {
+		this.path = path;
+		this.channel = channel;
+	}
+
+	/**
+	 * Creates (or truncates) an event log file. The header is written by {@link #begin}.
+	 * @param path The event log file.
+	 * @return The open log.
+	 * @throws IOException If the file cannot be created.
+	 */
+	public static EventLog create(Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) Files.createDirectories(parent);
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		return new EventLog(path, channel);
+	}
+
+	/**
+	 * Writes the header. Called once by the engine when the food chain is known.
+	 */
+	public void begin(String era, int gridSize, int maxRounds, String[] foodChain) {
+		ensureSpace(12);
+		buffer.putInt(MAGIC);
+		buffer.putShort((short) VERSION);
+		buffer.putShort((short) gridSize);
+		buffer.putInt(maxRounds);
+		putString(era);
+		for (int i = 0; i < 4; i++) {
+			putString(foodChain != null && i < foodChain.length ? foodChain[i] : "");
+		}
+	}
+
+	public void move(int round, int role, int fromX, int fromY, int toX, int toY) {
+		record(MOVE, role, 0, round, fromX << 16 | (fromY & 0xFFFF), toX << 16 | (toY & 0xFFFF));
+	}
+
+	public void ability(int round, int role) {
+		record(ABILITY, role, 0, round, 0, 0);
+	}
+
+	public void eat(int round, int eaterRole, int victimRole, int gained, int lost) {
+		record(EAT, eaterRole, victimRole, round, gained, lost);
+	}
+
+	public void roundEnd(int round, long stateHash) {
+		record(ROUND_END, 0, 0, round, (int) stateHash, (int) (stateHash >>> 32));
+	}
+
+	public void gameOver(int round, int winnerRole) {
+		record(GAME_OVER, winnerRole, 0, round, 0, 0);
+	}
+
+	private void record(byte type, int actor, int other, int round, int a, int b) {
+		ensureSpace(RECORD_SIZE);
+		buffer.put(type);
+		buffer.put((byte) actor);
+		buffer.put((byte) other);
+		buffer.put((byte) 0);
+		buffer.putInt(round);
+		buffer.putInt(a);
+		buffer.putInt(b);
+	}
+
+	private void putString(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		ensureSpace(2 + bytes.length);
+		buffer.putShort((short) bytes.length);
+		buffer.put(bytes);
+	}
+
+	private void ensureSpace(int bytes) {
+		if (buffer.remaining() < bytes) {
+			drain();
+		}
+	}
+
+	private void drain() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining() && !failed) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			failed = true;
+			System.err.println("Error writing event log " + path + ": " + e.getMessage());
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the buffered records and closes the file.
+	 */
+	@Override
+	public void close() {
+		drain();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			System.err.println("Error closing event log " + path + ": " + e.getMessage());
+		}
+	}
+
+	public Path getPath() {
+		return path;
+	}
+}
@@ -1,15 +1,23 @@
 package io;
 
 import logic.GameEngine;
+import logic.GameRandom;
 import logic.Grid;
+import logic.ResourceField;
+import model.DietRules;
 import model.Entity;
 import model.Food;
+import model.GameState;
 import model.animals.Animal;
 
 import java.io.*;
+import java.nio.file.Paths;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles all file input/output operations for the game.
@@ -18,72 +26,130 @@ import java.util.List;
  */
 public class FileManager {
 
-	private static final String SAVE_FILE = "savegame.txt";
+	private static final String SAVE_FILE = "savegame.dat";
+	private static final String LEGACY_SAVE_FILE = "savegame.txt";
+	private static final String RULES_FILE = "rules.txt";
+	private static final String SAVES_DIR = "saves";
+	private static final String LOGS_DIR = "logs";
+
+	private static final SaveSlots saveSlots = new SaveSlots(Paths.get(SAVES_DIR));
+	private static final LogFiles logFiles = new LogFiles(Paths.get(LOGS_DIR));
+
+	private static final Map<String, DietRules> dietRulesCache = new ConcurrentHashMap<>();
 
 
 	/**
-	 * Loads the ecosystem names (food chain) from a text file based on the game mode.
-	 * The file is expected to be in the classpath (e.g., /past.txt).
+	 * Picks the ecosystem names (food chain) for the game mode from the food chain registry.
+	 * The era files are parsed and validated once (see FoodChainRegistry).
 	 * * @param mode The game era (Past, Present, Future).
 	 * @return A String array containing {Apex, Predator, Prey, Food}.
-	 * @throws IOException If the file is missing or the format is invalid.
+	 * @throws IOException If the era files are missing or the format is invalid.
 	 */
 	public static String[] loadFoodChainNames(String mode) throws IOException {
-		String fileName = mode.toLowerCase() + ".txt"; // e.g., past.txt
+		return loadFoodChainNames(mode, new SecureRandom());
+	}
 
-		InputStream is = FileManager.class.getResourceAsStream("/" + fileName);
-		if (is == null) {
-			
-			throw new IOException("File not found: /" + fileName + " (Must be in classpath)");
+	/**
+	 * Picks the ecosystem names (food chain), choosing by weight with the given random source.
+	 * * @param mode The game era (Past, Present, Future).
+	 * @param rnd  The random source used to choose one of the chains.
+	 * @return A String array containing {Apex, Predator, Prey, Food}.
+	 * @throws IOException If the era files are missing or the format is invalid.
+	 */
+	public static String[] loadFoodChainNames(String mode, Random rnd) throws IOException {
+		return FoodChainRegistry.getDefault().select(mode, rnd).getNames();
+	}
+
+
+	/**
+	 * Loads the diet rule table for an era, compiled once and cached afterwards.
+	 * An era-specific file (e.g., /rules_future.txt) takes precedence over /rules.txt;
+	 * without either file the built-in food web is used.
+	 * * @param mode The game era (Past, Present, Future).
+	 * @return The compiled rule table.
+	 * @throws IOException If a rules file exists but is malformed.
+	 */
+	public static DietRules loadDietRules(String mode) throws IOException {
+		DietRules cached = dietRulesCache.get(mode);
+		if (cached != null) {
+			return cached;
 		}
 
-		List<String> chains = new ArrayList<>();
+		InputStream is = FileManager.class.getResourceAsStream("/rules_" + mode.toLowerCase() + ".txt");
+		if (is == null) {
+			is = FileManager.class.getResourceAsStream("/" + RULES_FILE);
+		}
 
-		try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
-			String line;
-			while ((line = br.readLine()) != null) {
-				line = line.trim();
-				if (line.startsWith("Food Chain")) {
-					chains.add(line);
+		DietRules rules = DietRules.DEFAULT;
+		if (is != null) {
+			List<String> lines = new ArrayList<>();
+			try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
+				String line;
+				while ((line = br.readLine()) != null) {
+					lines.add(line);
 				}
 			}
+			rules = DietRules.compile(lines);
 		}
 
-		if (chains.isEmpty()) {
-			throw new IOException("No 'Food Chain' lines found in: " + fileName);
-		}
+		dietRulesCache.put(mode, rules);
+		return rules;
+	}
 
-		SecureRandom rnd = new SecureRandom();
-		String selected = chains.get(rnd.nextInt(chains.size()));
 
-		int colon = selected.indexOf(':');
-		if (colon < 0) {
-			throw new IOException("Invalid format (missing ':'): " + selected);
-		}
+	/**
+	 * Saves the current game state to a local file (savegame.dat).
+	 * Serializes metadata (Round, Mode, GridSize), the RNG state and all entities.
+	 * * @param engine The GameEngine instance containing the current state.
+	 */
+	public static void saveGame(GameEngine engine) {
+		saveGame(engine, SAVE_FILE);
+	}
 
-		String payload = selected.substring(colon + 1).trim(); 
-		String[] parts = payload.split(",");
+	/**
+	 * @return The path of the desktop game's save file (savegame.dat).
+	 */
+	public static java.nio.file.Path getSavePath() {
+		return Paths.get(SAVE_FILE);
+	}
 
-		if (parts.length != 4) {
-			throw new IOException("Expected 4 names (Apex,Predator,Prey,Food), found: " + selected);
-		}
+	/**
+	 * @return The named save slots of the desktop game (the "saves" directory).
+	 */
+	public static SaveSlots getSaveSlots() {
+		return saveSlots;
+	}
 
-		return new String[]{
-			parts[0].trim(), 
-			parts[1].trim(), 
-			parts[2].trim(), 
-			parts[3].trim()  
-		};
+	/**
+	 * @return The per-game log directory of the desktop game ("logs").
+	 */
+	public static LogFiles getLogFiles() {
+		return logFiles;
 	}
 
+	/**
+	 * Saves the current game state to the given file in the binary save format.
+	 * Used by sessions that keep their saves apart from the desktop game.
+	 * * @param engine   The GameEngine instance containing the current state.
+	 * @param fileName The save file path.
+	 */
+	public static void saveGame(GameEngine engine, String fileName) {
+		try {
+			BinarySaveFormat.write(engine, Paths.get(fileName));
+			System.out.println("Game saved successfully.");
+		} catch (IOException e) {
+			System.err.println("Save failed: " + e.getMessage());
+		}
+	}
 
 	/**
-	 * Saves the current game state to a local file (savegame.txt).
-	 * Serializes metadata (Round, Mode, GridSize) and all entities.
-	 * * @param engine The GameEngine instance containing the current state.
+	 * Saves the current game state in the legacy line-based text format.
+	 * The text format cannot hold the RNG state or a resource field.
+	 * * @param engine   The GameEngine instance containing the current state.
+	 * @param fileName The save file path.
 	 */
-	public static void saveGame(GameEngine engine) {
-		try (PrintWriter out = new PrintWriter(new FileWriter(SAVE_FILE))) {
+	public static void saveGameAsText(GameEngine engine, String fileName) {
+		try (PrintWriter out = new PrintWriter(new FileWriter(fileName))) {
 			
 			out.println("MODE:" + engine.getCurrentMode());
 			out.println("GRID_SIZE:" + engine.getGrid().getSize());
@@ -115,17 +181,55 @@ public class FileManager {
 
 	/**
 	 * Loads the game state from the save file.
-	 * Reconstructs the GameEngine, Grid, and all Entities.
-	 * Includes logic to handle dynamic Grid Sizes.
+	 * Prefers the binary savegame.dat and falls back to a legacy savegame.txt.
 	 * * @return A fully restored GameEngine instance.
 	 * @throws IOException If the file is missing or unreadable.
 	 */
 	public static GameEngine loadGame() throws IOException {
-		File file = new File(SAVE_FILE);
+		File binary = new File(SAVE_FILE);
+		return loadGame(binary.exists() ? SAVE_FILE : LEGACY_SAVE_FILE);
+	}
+
+	/**
+	 * Loads the game state from the given save file, detecting binary and text saves.
+	 * Reconstructs the GameEngine, Grid, and all Entities.
+	 * * @param fileName The save file path.
+	 * @return A fully restored GameEngine instance.
+	 * @throws IOException If the file is missing or unreadable.
+	 */
+	public static GameEngine loadGame(String fileName) throws IOException {
+		return loadGame(fileName, GameLogger.getDefault());
+	}
+
+	/**
+	 * Loads the game state from the given save file and continues logging to the given logger.
+	 * * @param fileName The save file path.
+	 * @param logger   The logger the resumed game appends to.
+	 * @return A fully restored GameEngine instance.
+	 * @throws IOException If the file is missing or unreadable.
+	 */
+	public static GameEngine loadGame(String fileName, GameLogger logger) throws IOException {
+		File file = new File(fileName);
 		if (!file.exists()) {
 			throw new FileNotFoundException("Save file not found.");
 		}
 
+		GameState state;
+		if (BinarySaveFormat.isBinarySave(file.toPath())) {
+			state = BinarySaveFormat.read(file.toPath());
+			BinarySaveFormat.applyDeltas(state, file.toPath(), BinarySaveFormat.checksumOf(file.toPath()));
+		} else {
+			state = readTextSave(file);
+		}
+
+		return engineFromState(state, logger);
+	}
+
+	/**
+	 * Parses a legacy text save (savegame.txt) into a GameState.
+	 * Includes logic to handle dynamic Grid Sizes.
+	 */
+	private static GameState readTextSave(File file) throws IOException {
 		String mode = "Present"; 
 		int round = 0;
 		int maxRounds = 30;
@@ -154,12 +258,10 @@ public class FileManager {
 			}
 		}
 
-		GameEngine engine = new GameEngine(gridSize, maxRounds, mode);
-		engine.setCurrentRound(round);
-		
-		engine.clearAllEntities(); 
-
-		Grid grid = engine.getGrid();
+		Grid grid = new Grid(gridSize);
+		List<Animal> animals = new ArrayList<>();
+		String[] chain = new String[]{"", "", "", ""};
+		Food food = null;
 
 		for (String data : entityLines) {
 			try {
@@ -171,7 +273,9 @@ public class FileManager {
 				int y = Integer.parseInt(parts[3]);
 
 				if (type.equals("FOOD")) {
-					grid.placeEntity(new Food(x, y, name), x, y);
+					food = new Food(x, y, name);
+					grid.placeEntity(food, x, y);
+					chain[DietRules.FOOD] = name;
 				} else {
 					int score = Integer.parseInt(parts[4]);
 					int cooldown = Integer.parseInt(parts[5]);
@@ -181,24 +285,49 @@ public class FileManager {
 					animal.setCooldown(cooldown); 
 
 					grid.placeEntity(animal, x, y);
-					
-					engine.addLoadedAnimal(animal); 
+					animals.add(animal);
+					if (animal.getRole() >= 0) {
+						chain[animal.getRole()] = name;
+					}
 				}
 			} catch (Exception e) {
 				System.err.println("Error parsing entity line: " + data);
 			}
 		}
-		
-		return engine;
+
+		GameState state = new GameState(round, maxRounds, mode, grid, animals);
+		state.setFoodChainNames(chain);
+		state.setFood(food);
+		return state;
+	}
+
+	/**
+	 * Builds a running GameEngine from a saved GameState via the engine's restore path.
+	 */
+	private static GameEngine engineFromState(GameState state, GameLogger logger) throws IOException {
+		ResourceField field = null;
+		if (state.getFieldDensities() != null) {
+			field = new ResourceField(state.getGrid().getSize(), 0f,
+					state.getFieldRegrowthRate(), state.getFieldDiffusionRate());
+			field.setDensities(state.getFieldDensities());
+		}
+
+		GameRandom random = new GameRandom(new SecureRandom().nextLong());
+		if (state.hasRandomState()) {
+			random.setState(state.getRandomState());
+		}
+
+		return GameEngine.restore(state, logger, random, field);
 	}
 
 	/**
 	 * Checks if a valid save file exists.
 	 * Used by the GUI to enable/disable the "Load Game" button.
-	 * * @return true if "savegame.txt" exists and is not empty.
+	 * * @return true if "savegame.dat" (or a legacy "savegame.txt") exists and is not empty.
 	 */
 	public static boolean isSaveFileAvailable() {
 		File file = new File(SAVE_FILE);
-		return file.exists() && file.length() > 0;
+		File legacy = new File(LEGACY_SAVE_FILE);
+		return (file.exists() && file.length() > 0) || (legacy.exists() && legacy.length() > 0);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,289 @@
+package io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import model.DietRules;
+import model.FoodChain;
+import model.Species;
+
+/**
+ * All food chains of all eras, parsed and validated once.
+ * * Task: Replaces re-reading the era file for every new game with an in-memory lookup.
+ * Every "Food Chain N: Apex, Predator, Prey, Food[, weight]" line must have exactly four
+ * names (and an optional positive weight); a name without a sprite under /images is
+ * reported as a warning, since the board then draws a fallback shape.
+ * The shared registry sits behind an AtomicReference: a reload (see FoodChainWatcher)
+ * builds and validates a complete new registry first and then swaps it in, so a game
+ * always sees one consistent registry and games already running keep their names.
+ * Parsing has no side effects: the species of a registry are only interned (see Species)
+ * when it is published by getDefault or setDefault, after all three files were valid.
+ * Methods: getDefault, setDefault, load, getChains, select, getWarnings.
+ */
+public final class FoodChainRegistry {
+
+	public static final String[] ERAS = {"Past", "Present", "Future"};
+
+	private static final Locale TURKISH = Locale.forLanguageTag("tr");
+	private static final AtomicReference<FoodChainRegistry> defaultRegistry = new AtomicReference<>();
+
+	private final Map<String, List<FoodChain>> chainsByEra;
+	private final Map<String, int[]> cumulativeWeights;
+	private final List<String> warnings;
+
+	private FoodChainRegistry(Map<String, List<FoodChain>> chainsByEra, List<String> warnings) {
+		this.chainsByEra = chainsByEra;
+		this.warnings = Collections.unmodifiableList(warnings);
+		this.cumulativeWeights = new HashMap<>();
+		for (Map.Entry<String, List<FoodChain>> entry : chainsByEra.entrySet()) {
+			List<FoodChain> chains = entry.getValue();
+			int[] cumulative = new int[chains.size()];
+			int total = 0;
+			for (int i = 0; i < chains.size(); i++) {
+				total += chains.get(i).getWeight();
+				cumulative[i] = total;
+			}
+			cumulativeWeights.put(entry.getKey(), cumulative);
+		}
+	}
+
+	/**
+	 * Returns the registry of the bundled era files, loading and validating it on first use.
+	 * Warnings are printed once.
+	 * @return The shared registry.
+	 * @throws IOException If an era file is missing or malformed.
+	 */
+	public static FoodChainRegistry getDefault() throws IOException {
+		FoodChainRegistry registry = defaultRegistry.get();
+		if (registry == null) {
+			synchronized (defaultRegistry) {
+				registry = defaultRegistry.get();
+				if (registry == null) {
+					registry = load();
+					printWarnings(registry);
+					registry.internSpecies();
+					defaultRegistry.set(registry);
+				}
+			}
+		}
+		return registry;
+	}
+
+	/**
+	 * Replaces the shared registry; games started afterwards pick from the new one.
+	 * @param registry A fully loaded and validated registry.
+	 */
+	public static void setDefault(FoodChainRegistry registry) {
+		printWarnings(registry);
+		registry.internSpecies();
+		defaultRegistry.set(registry);
+	}
+
+	// Publishes every species with the sprite file found for it, before any game can pick it.
+	private void internSpecies() {
+		for (List<FoodChain> chains : chainsByEra.values()) {
+			for (FoodChain chain : chains) {
+				for (int role = 0; role < DietRules.ROLE_COUNT; role++) {
+					Species.intern(chain.getName(role), role, chain.getEra(), chain.getSpriteKey(role));
+				}
+			}
+		}
+	}
+
+	private static void printWarnings(FoodChainRegistry registry) {
+		for (String warning : registry.getWarnings()) {
+			System.err.println("Warning: " + warning);
+		}
+	}
+
+	/**
+	 * Parses and validates the era files (/past.txt, /present.txt, /future.txt) from the classpath.
+	 * @return A new registry.
+	 * @throws IOException If an era file is missing or malformed.
+	 */
+	public static FoodChainRegistry load() throws IOException {
+		return load(null);
+	}
+
+	/**
+	 * Parses and validates the era files (past.txt, present.txt, future.txt) from a directory.
+	 * @param directory The directory holding the era files, or null for the classpath.
+	 * @return A new registry.
+	 * @throws IOException If an era file is missing or malformed.
+	 */
+	public static FoodChainRegistry load(Path directory) throws IOException {
+		Map<String, List<FoodChain>> chainsByEra = new HashMap<>();
+		List<String> warnings = new ArrayList<>();
+
+		for (String era : ERAS) {
+			String fileName = era.toLowerCase(Locale.ROOT) + ".txt";
+			InputStream is;
+			if (directory == null) {
+				fileName = "/" + fileName;
+				is = FoodChainRegistry.class.getResourceAsStream(fileName);
+				if (is == null) {
+					throw new IOException("File not found: " + fileName + " (Must be in classpath)");
+				}
+			} else {
+				Path file = directory.resolve(fileName);
+				fileName = file.toString();
+				if (!Files.isRegularFile(file)) {
+					throw new IOException("File not found: " + fileName);
+				}
+				is = Files.newInputStream(file);
+			}
+			try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+				chainsByEra.put(era.toLowerCase(Locale.ROOT), parse(era, fileName, br, warnings));
+			}
+		}
+		return new FoodChainRegistry(chainsByEra, warnings);
+	}
+
+	/**
+	 * Parses the "Food Chain" lines of one era file.
+	 */
+	static List<FoodChain> parse(String era, String fileName, BufferedReader br, List<String> warnings) throws IOException {
+		List<FoodChain> chains = new ArrayList<>();
+		String line;
+		int lineNumber = 0;
+		while ((line = br.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (!line.startsWith("Food Chain")) continue;
+
+			int colon = line.indexOf(':');
+			if (colon < 0) {
+				throw new IOException(fileName + ":" + lineNumber + ": invalid format (missing ':'): " + line);
+			}
+
+			String[] parts = line.substring(colon + 1).split(",");
+			if (parts.length != DietRules.ROLE_COUNT && parts.length != DietRules.ROLE_COUNT + 1) {
+				throw new IOException(fileName + ":" + lineNumber
+						+ ": expected 4 names (Apex,Predator,Prey,Food) and an optional weight: " + line);
+			}
+
+			int weight = 1;
+			if (parts.length > DietRules.ROLE_COUNT) {
+				try {
+					weight = Integer.parseInt(parts[DietRules.ROLE_COUNT].trim());
+				} catch (NumberFormatException e) {
+					weight = 0;
+				}
+				if (weight < 1) {
+					throw new IOException(fileName + ":" + lineNumber + ": weight must be a positive number: " + line);
+				}
+			}
+
+			String[] names = new String[DietRules.ROLE_COUNT];
+			String[] spriteKeys = new String[DietRules.ROLE_COUNT];
+			for (int role = 0; role < DietRules.ROLE_COUNT; role++) {
+				names[role] = parts[role].trim();
+				if (names[role].isEmpty()) {
+					throw new IOException(fileName + ":" + lineNumber + ": empty name: " + line);
+				}
+				spriteKeys[role] = findSprite(names[role]);
+				if (spriteKeys[role] == null) {
+					warnings.add(fileName + ":" + lineNumber + ": no sprite /images/"
+							+ spriteKey(names[role], Locale.ROOT) + ".png for " + names[role]);
+				}
+			}
+			chains.add(new FoodChain(era, chains.size(), names, spriteKeys, weight));
+		}
+
+		if (chains.isEmpty()) {
+			throw new IOException("No 'Food Chain' lines found in: " + fileName);
+		}
+		return Collections.unmodifiableList(chains);
+	}
+
+	/**
+	 * The sprite file name of a species: lower case without spaces or dashes.
+	 * Some bundled sprites were named with Turkish casing rules ("Iguanodon" to "ıguanodon"),
+	 * so that spelling is tried as well.
+	 * @param name The species name.
+	 * @return The key of an existing sprite, or null.
+	 */
+	private static String findSprite(String name) {
+		String key = spriteKey(name, Locale.ROOT);
+		if (spriteExists(key)) return key;
+
+		String turkishKey = spriteKey(name, TURKISH);
+		if (!turkishKey.equals(key) && spriteExists(turkishKey)) return turkishKey;
+		return null;
+	}
+
+	private static String spriteKey(String name, Locale locale) {
+		return name.toLowerCase(locale).replaceAll("[\\s-]", "");
+	}
+
+	private static boolean spriteExists(String key) {
+		return FoodChainRegistry.class.getResource("/images/" + key + ".png") != null;
+	}
+
+	/**
+	 * @param era The era ("Past", "Present", "Future"), case-insensitive.
+	 * @return The era's chains in file order.
+	 * @throws IllegalArgumentException If the era is unknown.
+	 */
+	public List<FoodChain> getChains(String era) {
+		List<FoodChain> chains = chainsByEra.get(era.toLowerCase(Locale.ROOT));
+		if (chains == null) {
+			throw new IllegalArgumentException("Unknown era: " + era);
+		}
+		return chains;
+	}
+
+	/**
+	 * @param era   The era.
+	 * @param index Position of the chain in the era file (0-based).
+	 * @return That chain.
+	 */
+	public FoodChain select(String era, int index) {
+		return getChains(era).get(index);
+	}
+
+	/**
+	 * Picks a chain of the era with probability proportional to its weight.
+	 * With equal weights this consumes the same random number as picking a line uniformly.
+	 * @param era The era.
+	 * @param rnd The random source.
+	 * @return The chosen chain.
+	 */
+	public FoodChain select(String era, Random rnd) {
+		List<FoodChain> chains = getChains(era);
+		int[] cumulative = cumulativeWeights.get(era.toLowerCase(Locale.ROOT));
+		int pick = rnd.nextInt(cumulative[cumulative.length - 1]);
+
+		int low = 0;
+		int high = cumulative.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] > pick) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return chains.get(low);
+	}
+
+	/**
+	 * @return Validation warnings (missing sprites) found while loading.
+	 */
+	public List<String> getWarnings() {
+		return warnings;
+	}
+}
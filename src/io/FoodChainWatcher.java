@@ -0,0 +1,119 @@
+package io;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watch mode for the era files: reloads the food chain registry when past.txt,
+ * present.txt or future.txt change in the watched directory.
+ * * Task: Runs on its own daemon thread. Editors often write a file in several steps, so
+ * changes are collected until the directory has been quiet for a short while; then the
+ * complete registry is parsed and validated and only swapped in if that succeeds.
+ * A malformed edit is reported and the previous registry stays in use, with no other
+ * effect: species and their sprite keys are only published by the swap (setDefault).
+ * Running games are never touched: they copied their names when they started.
+ * Methods: start, stop.
+ */
+public class FoodChainWatcher implements Runnable {
+
+	/** Quiet time after the last change before the files are reloaded. */
+	private static final long SETTLE_MILLIS = 250;
+
+	private final Path directory;
+	private final WatchService watchService;
+	private final Thread thread;
+
+	private FoodChainWatcher(Path directory) throws IOException {
+		this.directory = directory;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		this.thread = new Thread(this, "food-chain-watcher");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Loads the era files from the directory once and then watches them for changes.
+	 * @param directory The directory holding past.txt, present.txt and future.txt (e.g. "assets").
+	 * @return The running watcher.
+	 * @throws IOException If the directory cannot be watched.
+	 */
+	public static FoodChainWatcher start(Path directory) throws IOException {
+		FoodChainWatcher watcher = new FoodChainWatcher(directory);
+		watcher.reload();
+		watcher.thread.start();
+		return watcher;
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = collect(key);
+
+				// Keep collecting until the directory is quiet, then reload once.
+				WatchKey next;
+				while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					changed |= collect(next);
+				}
+				if (changed) {
+					reload();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException e) {
+			// stopped
+		}
+	}
+
+	private boolean collect(WatchKey key) {
+		boolean eraFileChanged = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			Object context = event.context();
+			if (context instanceof Path && isEraFile((Path) context)) {
+				eraFileChanged = true;
+			}
+		}
+		key.reset();
+		return eraFileChanged;
+	}
+
+	private static boolean isEraFile(Path file) {
+		String name = file.getFileName().toString();
+		for (String era : FoodChainRegistry.ERAS) {
+			if (name.equals(era.toLowerCase(Locale.ROOT) + ".txt")) return true;
+		}
+		return false;
+	}
+
+	private void reload() {
+		try {
+			FoodChainRegistry registry = FoodChainRegistry.load(directory);
+			FoodChainRegistry.setDefault(registry);
+			System.out.println("Food chains reloaded from " + directory + ".");
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Food chain files not reloaded, keeping the previous ones: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Stops watching.
+	 */
+	public void stop() {
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			System.err.println("Cannot close food chain watcher: " + e.getMessage());
+		}
+		thread.interrupt();
+	}
+}
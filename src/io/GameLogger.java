@@ -3,76 +3,430 @@ package io;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 /**
  * Handles the logging of game events to a file.
  * Creates a timestamped record of actions in "game_log.txt".
+ * * Task: Each GameEngine writes through its own GameLogger instance, so several
+ * sessions can log side by side. The static methods keep working on the default
+ * instance used by the desktop game.
+ * A logger created with a flush interval is asynchronous: callers only enqueue the
+ * message, and a writer thread formats and writes whole batches, flushing at most once
+ * per interval. Pending lines are flushed on shutdown and when the JVM exits. If the
+ * writer fails (disk full, failed rotation) the logger stops and drops further messages
+ * rather than blocking its callers.
+ * Messages passed to {@link #log(LogCategory, Supplier)} are only built when their
+ * category is enabled, so filtered categories cost a single mask check.
+ * Loggers created by a LogFiles directory rotate their file once it reaches the
+ * directory's segment size; the closed segment is compressed in the background.
  */
 public class GameLogger {
 
-	private static BufferedWriter writer;
-	private static boolean isInitialized = false;
+	private static final String DEFAULT_LOG_FILE = "game_log.txt";
+	/** Flush interval of the desktop game's logger. */
+	public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+	/** Soft bound of an asynchronous logger's queue; producers wait when it is full. */
+	public static final int QUEUE_CAPACITY = 8192;
+
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+	private static final long BACKPRESSURE_PARK_NANOS = 50_000;
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	// Asynchronous loggers that are open, flushed by the shutdown hook.
+	private static final Set<GameLogger> openAsyncLoggers = ConcurrentHashMap.newKeySet();
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			for (GameLogger logger : openAsyncLoggers) {
+				logger.shutdown();
+			}
+		}, "game-log-shutdown"));
+	}
+
+	private static final GameLogger DEFAULT = new GameLogger(DEFAULT_LOG_FILE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+
+	private final String fileName;
+	private final long flushIntervalNanos;
+	private final LogFiles files;
+	private BufferedWriter writer;
+	// Approximate size of the current file, only touched by the writing thread.
+	private long segmentBytes;
+	private volatile boolean isInitialized = false;
+	private volatile int enabledCategories = maskFor(LogLevel.DEBUG);
+	// Time callers spent in log() for enabled categories; approximate if several threads share the logger.
+	private long callerNanos;
+
+	// Asynchronous mode only.
+	private final ConcurrentLinkedQueue<Entry> queue;
+	private final AtomicInteger pending = new AtomicInteger();
+	private volatile Thread writerThread;
+	private volatile boolean writerRunning;
+	// Set when the writer thread died on an I/O error; later messages are dropped.
+	private volatile boolean writerFailed;
+
+	// Timestamp of the last formatted second, only touched by the writing thread.
+	private long lastSecond = Long.MIN_VALUE;
+	private String lastTimestamp;
 
 	/**
-	 * Initializes the log file.
+	 * Creates a synchronous logger bound to the given file. Nothing is opened until {@link #open()}.
+	 * @param fileName The log file path, or null for a logger that discards everything.
+	 */
+	public GameLogger(String fileName) {
+		this(fileName, 0);
+	}
+
+	/**
+	 * Creates a logger bound to the given file. Nothing is opened until {@link #open()}.
+	 * @param fileName             The log file path, or null for a logger that discards everything.
+	 * @param flushIntervalMillis  Maximum time between flushes of an asynchronous logger;
+	 *                             0 for a synchronous logger that flushes every line.
+	 */
+	public GameLogger(String fileName, long flushIntervalMillis) {
+		this(fileName, flushIntervalMillis, null);
+	}
+
+	/**
+	 * Creates a logger whose file is rotated and retained by the given log directory.
+	 */
+	GameLogger(String fileName, long flushIntervalMillis, LogFiles files) {
+		this.fileName = fileName;
+		this.files = files;
+		this.flushIntervalNanos = Math.max(0, flushIntervalMillis) * 1_000_000L;
+		this.queue = flushIntervalNanos > 0 ? new ConcurrentLinkedQueue<>() : null;
+	}
+
+	/**
+	 * Creates a logger that drops every message (used by headless runs).
+	 * @return A logger without an output file.
+	 */
+	public static GameLogger disabled() {
+		return new GameLogger(null);
+	}
+
+	/**
+	 * Returns the shared logger writing to "game_log.txt".
+	 * @return The default logger instance.
+	 */
+	public static GameLogger getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Initializes the default log file.
 	 * Creates (or overwrites) "game_log.txt" to start with a clean slate.
 	 */
 	public static void init() {
+		DEFAULT.open();
+	}
+
+	/**
+	 * Writes a message to the default log file.
+	 * * @param message The text content to record in the log.
+	 */
+	public static void log(String message) {
+		DEFAULT.append(message);
+	}
+
+	/**
+	 * Closes the default log file.
+	 */
+	public static void close() {
+		DEFAULT.shutdown();
+	}
+
+	/**
+	 * Enables exactly the categories belonging to the given level and the levels below it.
+	 * @param level The verbosity to log at.
+	 */
+	public void setLevel(LogLevel level) {
+		enabledCategories = maskFor(level);
+	}
+
+	/**
+	 * Switches a single category on or off, independently of the level.
+	 * @param category The category to change.
+	 * @param enabled  Whether its messages are written.
+	 */
+	public synchronized void setEnabled(LogCategory category, boolean enabled) {
+		enabledCategories = enabled
+				? enabledCategories | category.bit()
+				: enabledCategories & ~category.bit();
+	}
+
+	/**
+	 * @param category The category to check.
+	 * @return true if messages of that category would be written.
+	 */
+	public boolean isEnabled(LogCategory category) {
+		return fileName != null && (enabledCategories & category.bit()) != 0;
+	}
+
+	private static int maskFor(LogLevel level) {
+		int mask = 0;
+		for (LogCategory category : LogCategory.values()) {
+			if (category.getLevel().compareTo(level) <= 0 && level != LogLevel.OFF) {
+				mask |= category.bit();
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Writes a message of the given category, building it only if the category is enabled.
+	 * * @param category The kind of message.
+	 * @param message  Builds the text content to record in the log.
+	 */
+	public void log(LogCategory category, Supplier<String> message) {
+		if (!isEnabled(category)) return;
+		long start = System.nanoTime();
+		append(message.get());
+		callerNanos += System.nanoTime() - start;
+	}
+
+	/**
+	 * @return Total nanoseconds callers have spent in {@link #log(LogCategory, Supplier)}
+	 *         building and handing over messages (not the writer thread's time).
+	 */
+	public long getCallerNanos() {
+		return callerNanos;
+	}
+
+	/**
+	 * Opens (or overwrites) this logger's file to start with a clean slate.
+	 */
+	public void open() {
+		openWriter(false);
+	}
+
+	/**
+	 * Reopens this logger's file without truncating it, continuing an existing log.
+	 */
+	public void resume() {
+		openWriter(true);
+	}
+
+	private synchronized void openWriter(boolean append) {
+		if (fileName == null) return;
+
+		shutdown();
 		try {
-			writer = new BufferedWriter(new FileWriter("game_log.txt"));
+			writer = new BufferedWriter(new FileWriter(fileName, append), WRITE_BUFFER_SIZE);
+			segmentBytes = append ? Files.size(Paths.get(fileName)) : 0;
 			isInitialized = true;
 		} catch (IOException e) {
 			System.err.println("Failed to create log file: " + e.getMessage());
+			return;
+		}
+
+		if (isAsync()) {
+			writerFailed = false;
+			writerRunning = true;
+			Thread t = new Thread(this::drainLoop, "game-log-writer");
+			t.setDaemon(true);
+			writerThread = t;
+			openAsyncLoggers.add(this);
+			t.start();
 		}
 	}
 
 	/**
 	 * Writes a message to the log file with a timestamp.
-	 * IMPORTANT: Flushes the stream immediately to ensure data is written to disk.
+	 * A synchronous logger flushes the stream immediately. An asynchronous logger only
+	 * queues the message; if the queue is full the caller waits for the writer to catch up.
 	 * * @param message The text content to record in the log.
 	 */
-	public static void log(String message) {
+	public void append(String message) {
+		if (fileName == null) return;
+
 		if (!isInitialized) {
 			System.out.println("[Log (No File)]: " + message);
 			return;
 		}
 
+		if (isAsync()) {
+			enqueue(message);
+			return;
+		}
+
+		try {
+			writeLine(System.currentTimeMillis(), message);
+			writer.flush();
+		} catch (IOException e) {
+			System.err.println("Error writing to log: " + e.getMessage());
+		}
+	}
+
+	private void enqueue(String message) {
+		if (writerFailed) return;
+		while (pending.get() >= QUEUE_CAPACITY && writerRunning) {
+			Thread t = writerThread;
+			// Never wait for a writer that is gone: the caller may be the EDT.
+			if (t == null || !t.isAlive() || writerFailed) return;
+			LockSupport.unpark(t);
+			LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+		}
+		pending.incrementAndGet();
+		queue.offer(new Entry(System.currentTimeMillis(), message));
+	}
+
+	/**
+	 * Writer thread: writes everything queued in one batch, flushes when the interval has
+	 * passed, then sleeps until the next interval (or until a full queue wakes it up).
+	 */
+	private void drainLoop() {
+		long lastFlush = System.nanoTime();
+		boolean dirty = false;
 		try {
-			String timestamp = getCurrentTime();
-			String formattedMessage = String.format("[%s] %s", timestamp, message);
+			while (true) {
+				Entry entry;
+				while ((entry = queue.poll()) != null) {
+					pending.decrementAndGet();
+					writeLine(entry.timeMillis, entry.message);
+					dirty = true;
+				}
 
-			writer.write(formattedMessage);
-			writer.newLine();
-			
-			writer.flush(); 
+				long now = System.nanoTime();
+				if (dirty && now - lastFlush >= flushIntervalNanos) {
+					writer.flush();
+					dirty = false;
+					lastFlush = now;
+				}
 
+				if (!writerRunning && queue.isEmpty()) break;
+				LockSupport.parkNanos(this, flushIntervalNanos);
+			}
+			writer.flush();
 		} catch (IOException e) {
-			System.err.println("Error writing to log: " + e.getMessage());
+			// Disk full, or a failed rotation: stop logging instead of letting producers
+			// wait for a queue nobody drains.
+			System.err.println("Error writing to log, logging stopped: " + e.getMessage());
+			writerFailed = true;
+			writerRunning = false;
+			while (queue.poll() != null) {
+				pending.decrementAndGet();
+			}
+		}
+	}
+
+	private void writeLine(long timeMillis, String message) throws IOException {
+		writer.write('[');
+		writer.write(getTimestamp(timeMillis));
+		writer.write("] ");
+		writer.write(message);
+		writer.newLine();
+
+		if (files != null) {
+			segmentBytes += message.length() + 12;
+			if (segmentBytes >= files.getMaxSegmentBytes()) {
+				rotate();
+			}
 		}
 	}
 
+	/**
+	 * Closes the full file, renames it to the next segment name and starts a new file.
+	 * The closed segment is compressed by the log directory's background thread.
+	 */
+	private void rotate() throws IOException {
+		writer.close();
+		Path active = Paths.get(fileName);
+		Path segment = files.nextSegmentPath(active);
+		Files.move(active, segment);
+		writer = new BufferedWriter(new FileWriter(fileName, false), WRITE_BUFFER_SIZE);
+		segmentBytes = 0;
+		files.segmentClosed(segment);
+	}
+
 	/**
 	 * Closes the log file securely when the game ends.
-	 * Prevents resource leaks.
+	 * An asynchronous logger first writes and flushes every queued message.
 	 */
-	public static void close() {
+	public synchronized void shutdown() {
+		isInitialized = false;
+
+		Thread t = writerThread;
+		if (t != null) {
+			writerRunning = false;
+			LockSupport.unpark(t);
+			try {
+				t.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			writerThread = null;
+			openAsyncLoggers.remove(this);
+		}
+
 		if (writer != null) {
 			try {
 				writer.close();
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
+			writer = null;
+		}
+	}
+
+	/**
+	 * Shuts the logger down for good. A logger from a LogFiles directory also gives up
+	 * its protection from pruning.
+	 */
+	public void dispose() {
+		shutdown();
+		if (files != null) {
+			files.release(Paths.get(fileName));
+		}
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * @return true if messages are written by a background thread.
+	 */
+	public boolean isAsync() {
+		return queue != null;
+	}
+
+	/**
+	 * Formats a time as "HH:mm:ss", reusing the previous result within the same second.
+	 * * @param timeMillis Epoch milliseconds.
+	 * @return The formatted time.
+	 */
+	private String getTimestamp(long timeMillis) {
+		long second = timeMillis / 1000;
+		if (second != lastSecond) {
+			lastSecond = second;
+			lastTimestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZONE).format(TIME_FORMAT);
 		}
+		return lastTimestamp;
 	}
 
 	/**
-	 * Helper method to get the current system time.
-	 * * @return Current time formatted as "HH:mm:ss".
+	 * A queued log line with the time it was logged at.
 	 */
-	private static String getCurrentTime() {
-		DateTimeFormatter dtf = DateTimeFormatter.ofPattern("HH:mm:ss");
-		return LocalDateTime.now().format(dtf);
+	private static final class Entry {
+		private final long timeMillis;
+		private final String message;
+
+		private Entry(long timeMillis, String message) {
+			this.timeMillis = timeMillis;
+			this.message = message;
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package io;
+
+/**
+ * The kinds of game log lines, each of which can be switched on or off per logger.
+ * * GAME: GAME_START, FOOD_CHAIN, GAME_RESUME, GAME_OVER.
+ * ROUND: ROUND_BEGIN, ROUND_END. SPAWN: initial spawns and respawns.
+ * SCORE: SCORE_GAIN, SCORE_LOSS. MOVE: player and AI moves, ability use.
+ * HASH: a short ROUND_END line with only the state hash, written while ROUND is off, so a
+ * log kept at a lower level can still be checked with LockstepVerifier (switch it on per logger).
+ */
+public enum LogCategory {
+	GAME(LogLevel.SUMMARY),
+	ROUND(LogLevel.INFO),
+	SPAWN(LogLevel.INFO),
+	SCORE(LogLevel.INFO),
+	MOVE(LogLevel.DEBUG),
+	HASH(LogLevel.INFO);
+
+	private final LogLevel level;
+	private final int bit;
+
+	LogCategory(LogLevel level) {
+		this.level = level;
+		this.bit = 1 << ordinal();
+	}
+
+	/**
+	 * @return The lowest logger level at which this category is written.
+	 */
+	public LogLevel getLevel() {
+		return level;
+	}
+
+	int bit() {
+		return bit;
+	}
+}
@@ -0,0 +1,225 @@
+package io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A directory of per-session game logs with size-based rotation and retention.
+ * Every session logs to its own "<session>.log". When that file reaches the segment size
+ * it is renamed to "<session>.log.<n>" and compressed to "<session>.log.<n>.gz" on a
+ * background thread, and the oldest files are deleted once the directory holds more than
+ * the allowed number of files or bytes.
+ * * Task: Keeps the logs of long sessions and of thousands of headless games bounded on disk.
+ * Methods: newLogger, prune, awaitCompression.
+ */
+public class LogFiles {
+
+	public static final long DEFAULT_MAX_SEGMENT_BYTES = 1024 * 1024;
+	public static final int DEFAULT_MAX_FILES = 500;
+	public static final long DEFAULT_MAX_TOTAL_BYTES = 256L * 1024 * 1024;
+
+	private static final String LOG_EXTENSION = ".log";
+	private static final String GZIP_EXTENSION = ".gz";
+
+	// One compression thread for all log directories; compression never blocks logging.
+	private static final ExecutorService compressor = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "log-compress");
+		t.setDaemon(true);
+		t.setPriority(Thread.MIN_PRIORITY);
+		return t;
+	});
+
+	private final Path directory;
+	private final long maxSegmentBytes;
+	private final int maxFiles;
+	private final long maxTotalBytes;
+
+	// Active log files of loggers that have not been disposed; never pruned.
+	private final Set<Path> inUse = ConcurrentHashMap.newKeySet();
+	// Whether a prune is waiting on the compression thread; further requests join it.
+	private final AtomicBoolean pruneQueued = new AtomicBoolean();
+
+	/**
+	 * Creates a log directory with the default segment size and retention limits.
+	 * @param directory The directory holding the logs.
+	 */
+	public LogFiles(Path directory) {
+		this(directory, DEFAULT_MAX_SEGMENT_BYTES, DEFAULT_MAX_FILES, DEFAULT_MAX_TOTAL_BYTES);
+	}
+
+	/**
+	 * @param directory       The directory holding the logs.
+	 * @param maxSegmentBytes Size at which a session's log is rotated.
+	 * @param maxFiles        Maximum number of log files kept in the directory.
+	 * @param maxTotalBytes   Maximum total size of the directory.
+	 */
+	public LogFiles(Path directory, long maxSegmentBytes, int maxFiles, long maxTotalBytes) {
+		this.directory = directory;
+		this.maxSegmentBytes = maxSegmentBytes;
+		this.maxFiles = maxFiles;
+		this.maxTotalBytes = maxTotalBytes;
+	}
+
+	/**
+	 * Creates the logger of one session, writing to "<session>.log" in this directory.
+	 * Older logs are pruned in the background so that the new session stays within the limits.
+	 * @param session             The session name (letters, digits, '-' and '_' are kept).
+	 * @param flushIntervalMillis Flush interval of an asynchronous logger; 0 for synchronous.
+	 * @return The logger; nothing is opened until it is opened by the engine.
+	 * @throws IOException If the directory cannot be created.
+	 */
+	public GameLogger newLogger(String session, long flushIntervalMillis) throws IOException {
+		Files.createDirectories(directory);
+		Path file = directory.resolve(session.replaceAll("[^A-Za-z0-9_-]", "_") + LOG_EXTENSION);
+		inUse.add(file.toAbsolutePath());
+		schedulePrune();
+		return new GameLogger(file.toString(), flushIntervalMillis, this);
+	}
+
+	long getMaxSegmentBytes() {
+		return maxSegmentBytes;
+	}
+
+	/**
+	 * @param active A session's active log file.
+	 * @return The first free closed-segment name "<active>.<n>" (neither plain nor compressed exists).
+	 */
+	Path nextSegmentPath(Path active) {
+		for (int n = 1; ; n++) {
+			Path segment = active.resolveSibling(active.getFileName() + "." + n);
+			Path compressed = active.resolveSibling(segment.getFileName() + GZIP_EXTENSION);
+			if (!Files.exists(segment) && !Files.exists(compressed)) {
+				return segment;
+			}
+		}
+	}
+
+	/**
+	 * Called by a logger after it renamed its full file to a closed segment.
+	 * @param segment The closed segment to compress.
+	 */
+	void segmentClosed(Path segment) {
+		compressor.execute(() -> {
+			compress(segment);
+			schedulePrune();
+		});
+	}
+
+	/**
+	 * Queues a prune on the compression thread unless one is already waiting there, so
+	 * that starting thousands of games or rotating many segments costs one directory scan
+	 * per burst rather than one each. The flag is cleared before the prune runs, so files
+	 * created during a prune are seen by the next one.
+	 */
+	private void schedulePrune() {
+		if (!pruneQueued.compareAndSet(false, true)) return;
+		compressor.execute(() -> {
+			pruneQueued.set(false);
+			prune();
+		});
+	}
+
+	/**
+	 * Called when a logger is disposed; its file may be pruned from now on.
+	 * @param active The logger's active file.
+	 */
+	void release(Path active) {
+		inUse.remove(active.toAbsolutePath());
+	}
+
+	private static void compress(Path segment) {
+		Path target = segment.resolveSibling(segment.getFileName() + GZIP_EXTENSION);
+		Path temp = segment.resolveSibling(target.getFileName() + ".tmp");
+		try {
+			try (InputStream in = Files.newInputStream(segment);
+					OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+				in.transferTo(out);
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			Files.delete(segment);
+		} catch (IOException e) {
+			System.err.println("Cannot compress log " + segment + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Deletes the oldest log files that are not in use until the directory is within
+	 * the file count and size limits.
+	 */
+	public synchronized void prune() {
+		if (!Files.isDirectory(directory)) return;
+
+		List<Path> candidates = new ArrayList<>();
+		long totalBytes = 0;
+		int totalFiles = 0;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path file : stream) {
+				String name = file.getFileName().toString();
+				if (!name.contains(LOG_EXTENSION) || name.endsWith(".tmp")) continue;
+				totalFiles++;
+				totalBytes += sizeOf(file);
+				if (!inUse.contains(file.toAbsolutePath())) {
+					candidates.add(file);
+				}
+			}
+
+			candidates.sort(Comparator.comparingLong(LogFiles::lastModified));
+			for (Path file : candidates) {
+				if (totalFiles <= maxFiles && totalBytes <= maxTotalBytes) break;
+				long size = sizeOf(file);
+				Files.deleteIfExists(file);
+				totalFiles--;
+				totalBytes -= size;
+			}
+		} catch (IOException e) {
+			System.err.println("Cannot prune logs in " + directory + ": " + e.getMessage());
+		}
+	}
+
+	// Loggers rotate files concurrently, so a listed file may already be gone.
+	private static long sizeOf(Path file) {
+		try {
+			return Files.size(file);
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	private static long lastModified(Path file) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e) {
+			return Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Waits until every compression and pruning task queued so far has finished.
+	 */
+	public static void awaitCompression() {
+		Future<?> marker = compressor.submit(() -> { });
+		try {
+			marker.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// The marker task does nothing; earlier tasks report their own errors.
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package io;
+
+/**
+ * Verbosity of a GameLogger. Each LogCategory belongs to one level; a logger set to a
+ * level writes that level's categories and those of all lower levels.
+ * * OFF: nothing. SUMMARY: game start/resume/over only.
+ * INFO: adds rounds, spawns and score changes. DEBUG: adds every move and ability use.
+ */
+public enum LogLevel {
+	OFF,
+	SUMMARY,
+	INFO,
+	DEBUG
+}
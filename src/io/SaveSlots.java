@@ -0,0 +1,257 @@
+package io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import logic.GameEngine;
+import model.DietRules;
+
+/**
+ * Named save slots: one binary save file per slot plus a small text index.
+ * The index holds each slot's era, round, scores and save time, so a list of hundreds
+ * of saves is built from one small file without opening any save.
+ * * Task: Maps slot names to files and keeps the index in sync with full saves.
+ * Methods: listSlots, slotPath, recordSave, save, load, delete, pruneAutosaves.
+ */
+public class SaveSlots {
+
+	/** Prefix of the slots the desktop game creates for new games, which pruneAutosaves may delete. */
+	public static final String AUTOSAVE_PREFIX = "auto_";
+
+	private static final String INDEX_FILE = "index.txt";
+	private static final String SLOT_EXTENSION = ".dat";
+	private static final String INDEX_HEADER = "# slot\tera\tround\tmaxRounds\tplayer\tapex\tprey\tsavedAt";
+
+	private final Path directory;
+
+	/**
+	 * @param directory The directory holding the slot files and the index.
+	 */
+	public SaveSlots(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Turns free text into a safe slot (file) name.
+	 * @param name The requested name.
+	 * @return The name with everything except letters, digits, '-' and '_' replaced by '_'.
+	 */
+	public static String sanitize(String name) {
+		String trimmed = name == null ? "" : name.trim();
+		if (trimmed.isEmpty()) {
+			throw new IllegalArgumentException("Slot name must not be empty.");
+		}
+		return trimmed.replaceAll("[^A-Za-z0-9_-]", "_");
+	}
+
+	/**
+	 * @param slot The slot name.
+	 * @return The save file of that slot.
+	 */
+	public Path slotPath(String slot) {
+		return directory.resolve(sanitize(slot) + SLOT_EXTENSION);
+	}
+
+	/**
+	 * Reads the index only; no save file is opened.
+	 * @return All slots, most recently saved first.
+	 */
+	public synchronized List<SlotInfo> listSlots() {
+		List<SlotInfo> slots = new ArrayList<>(readIndex().values());
+		slots.sort(Comparator.comparingLong(SlotInfo::getSavedAt).reversed());
+		return slots;
+	}
+
+	/**
+	 * Saves the game into a slot and records it in the index.
+	 * @param slot   The slot name.
+	 * @param engine The game to save.
+	 * @throws IOException If writing fails.
+	 */
+	public void save(String slot, GameEngine engine) throws IOException {
+		SaveSnapshot snap = SaveSnapshot.of(engine);
+		BinarySaveFormat.write(snap, ensureDirectory().resolve(sanitize(slot) + SLOT_EXTENSION));
+		recordSave(slot, snap);
+	}
+
+	/**
+	 * Loads one slot, reading only that slot's file (and its delta records).
+	 * @param slot The slot name.
+	 * @return The restored game.
+	 * @throws IOException If the slot is missing or unreadable.
+	 */
+	public GameEngine load(String slot) throws IOException {
+		return FileManager.loadGame(slotPath(slot).toString());
+	}
+
+	/**
+	 * Loads one slot and continues logging to the given logger.
+	 * @param slot   The slot name.
+	 * @param logger The logger the resumed game appends to.
+	 * @return The restored game.
+	 * @throws IOException If the slot is missing or unreadable.
+	 */
+	public GameEngine load(String slot, GameLogger logger) throws IOException {
+		return FileManager.loadGame(slotPath(slot).toString(), logger);
+	}
+
+	/**
+	 * Updates a slot's index entry after a full save of the given snapshot.
+	 * @param slot The slot name.
+	 * @param snap The state that was saved.
+	 * @return true if the slot was not in the index before.
+	 */
+	public synchronized boolean recordSave(String slot, SaveSnapshot snap) {
+		String name = sanitize(slot);
+		Map<String, SlotInfo> index = readIndex();
+		SlotInfo previous = index.put(name, new SlotInfo(name, snap.getMode(), snap.getRound(), snap.getMaxRounds(),
+				snap.getScore(DietRules.PREDATOR), snap.getScore(DietRules.APEX), snap.getScore(DietRules.PREY),
+				System.currentTimeMillis()));
+		writeIndex(index);
+		return previous == null;
+	}
+
+	/**
+	 * Removes a slot's file and index entry.
+	 * @param slot The slot name.
+	 * @throws IOException If the file cannot be deleted.
+	 */
+	public synchronized void delete(String slot) throws IOException {
+		Path path = slotPath(slot);
+		Files.deleteIfExists(path);
+		Files.deleteIfExists(BinarySaveFormat.deltaPathFor(path));
+
+		Map<String, SlotInfo> index = readIndex();
+		if (index.remove(sanitize(slot)) != null) {
+			writeIndex(index);
+		}
+	}
+
+	/**
+	 * Deletes the oldest autosave slots (named with AUTOSAVE_PREFIX) beyond the given number.
+	 * Slots named by the player are never touched.
+	 * @param keep The number of most recently saved autosave slots to keep.
+	 */
+	public synchronized void pruneAutosaves(int keep) {
+		Map<String, SlotInfo> index = readIndex();
+		List<SlotInfo> autosaves = new ArrayList<>();
+		for (SlotInfo info : index.values()) {
+			if (info.getName().startsWith(AUTOSAVE_PREFIX)) autosaves.add(info);
+		}
+		if (autosaves.size() <= keep) return;
+
+		autosaves.sort(Comparator.comparingLong(SlotInfo::getSavedAt).reversed());
+		for (SlotInfo info : autosaves.subList(keep, autosaves.size())) {
+			Path path = slotPath(info.getName());
+			try {
+				Files.deleteIfExists(path);
+				Files.deleteIfExists(BinarySaveFormat.deltaPathFor(path));
+				index.remove(info.getName());
+			} catch (IOException e) {
+				System.err.println("Cannot delete autosave " + info.getName() + ": " + e.getMessage());
+			}
+		}
+		writeIndex(index);
+	}
+
+	private Path ensureDirectory() throws IOException {
+		Files.createDirectories(directory);
+		return directory;
+	}
+
+	private Map<String, SlotInfo> readIndex() {
+		Map<String, SlotInfo> index = new LinkedHashMap<>();
+		Path file = directory.resolve(INDEX_FILE);
+		if (!Files.exists(file)) return index;
+
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty() || line.startsWith("#")) continue;
+				String[] parts = line.split("\t");
+				if (parts.length != 8) continue;
+				try {
+					SlotInfo info = new SlotInfo(parts[0], parts[1], Integer.parseInt(parts[2]),
+							Integer.parseInt(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5]),
+							Integer.parseInt(parts[6]), Long.parseLong(parts[7]));
+					index.put(info.getName(), info);
+				} catch (NumberFormatException e) {
+					System.err.println("Skipping bad save index line: " + line);
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Cannot read save index: " + e.getMessage());
+		}
+		return index;
+	}
+
+	private void writeIndex(Map<String, SlotInfo> index) {
+		try {
+			Path file = ensureDirectory().resolve(INDEX_FILE);
+			Path temp = directory.resolve(INDEX_FILE + ".tmp");
+			try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				out.write(INDEX_HEADER);
+				out.newLine();
+				for (SlotInfo info : index.values()) {
+					out.write(info.getName() + "\t" + info.getEra() + "\t" + info.getRound() + "\t"
+							+ info.getMaxRounds() + "\t" + info.getPlayerScore() + "\t" + info.getApexScore() + "\t"
+							+ info.getPreyScore() + "\t" + info.getSavedAt());
+					out.newLine();
+				}
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			System.err.println("Cannot write save index: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * One line of the save index.
+	 */
+	public static final class SlotInfo {
+		private final String name;
+		private final String era;
+		private final int round;
+		private final int maxRounds;
+		private final int playerScore;
+		private final int apexScore;
+		private final int preyScore;
+		private final long savedAt;
+
+		public SlotInfo(String name, String era, int round, int maxRounds,
+				int playerScore, int apexScore, int preyScore, long savedAt) {
+			this.name = name;
+			this.era = era;
+			this.round = round;
+			this.maxRounds = maxRounds;
+			this.playerScore = playerScore;
+			this.apexScore = apexScore;
+			this.preyScore = preyScore;
+			this.savedAt = savedAt;
+		}
+
+		public String getName() { return name; }
+		public String getEra() { return era; }
+		public int getRound() { return round; }
+		public int getMaxRounds() { return maxRounds; }
+		public int getPlayerScore() { return playerScore; }
+		public int getApexScore() { return apexScore; }
+		public int getPreyScore() { return preyScore; }
+		public long getSavedAt() { return savedAt; }
+	}
+}
@@ -0,0 +1,139 @@
+package io;
+
+import java.util.List;
+
+import logic.GameEngine;
+import logic.GameRandom;
+import logic.ResourceField;
+import model.Entity;
+import model.Food;
+import model.animals.Animal;
+
+/**
+ * An immutable copy of everything a save needs, taken on the game thread so that the
+ * file can be written on a background thread while play continues.
+ * * Task: Copies the entity table (at most a handful of rows) without scanning the grid.
+ * The resource field, whose size grows with the board, is only copied for full saves; a delta
+ * snapshot carries the round's tick marker and the prey's bite instead (see BinarySaveFormat).
+ */
+public final class SaveSnapshot {
+
+	final int gridSize;
+	final int round;
+	final int maxRounds;
+	final String mode;
+	final String[] foodChain;
+	final boolean hasRandomState;
+	final long randomState;
+
+	final int[] roles;
+	final String[] names;
+	final int[] xs;
+	final int[] ys;
+	final int[] scores;
+	final int[] cooldowns;
+
+	final float grazed;
+	final boolean hasField;
+	final int grazeTile;
+	final float grazeTaken;
+	final float[] fieldDensities;
+	final float fieldRegrowthRate;
+	final float fieldDiffusionRate;
+
+	private SaveSnapshot(GameEngine engine, boolean includeField) {
+		this.gridSize = engine.getGrid().getSize();
+		this.round = engine.getCurrentRound();
+		this.maxRounds = engine.getMaxRounds();
+		this.mode = engine.getCurrentMode();
+		this.foodChain = engine.getFoodChainNames() != null
+				? engine.getFoodChainNames().clone()
+				: new String[]{"", "", "", ""};
+
+		this.hasRandomState = engine.getRandom() instanceof GameRandom;
+		this.randomState = hasRandomState ? ((GameRandom) engine.getRandom()).getState() : 0;
+
+		List<Entity> entities = engine.getEntities();
+		int n = entities.size();
+		roles = new int[n];
+		names = new String[n];
+		xs = new int[n];
+		ys = new int[n];
+		scores = new int[n];
+		cooldowns = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			Entity e = entities.get(i);
+			roles[i] = e.getRole();
+			xs[i] = e.getX();
+			ys[i] = e.getY();
+			if (e instanceof Animal) {
+				Animal a = (Animal) e;
+				names[i] = a.getName();
+				scores[i] = a.getScore();
+				cooldowns[i] = a.getAbilityCooldown();
+			} else if (e instanceof Food) {
+				names[i] = ((Food) e).getName();
+			} else {
+				names[i] = "";
+			}
+		}
+
+		this.grazed = engine.getGrazed();
+		ResourceField field = engine.getResourceField();
+		this.hasField = field != null;
+		this.grazeTile = engine.getLastGrazeTile();
+		this.grazeTaken = engine.getLastGrazeTaken();
+		if (field != null) {
+			this.fieldDensities = includeField ? field.getDensities().clone() : null;
+			this.fieldRegrowthRate = field.getRegrowthRate();
+			this.fieldDiffusionRate = field.getDiffusionRate();
+		} else {
+			this.fieldDensities = null;
+			this.fieldRegrowthRate = 0f;
+			this.fieldDiffusionRate = 0f;
+		}
+	}
+
+	/**
+	 * Takes a full snapshot (including the resource field, if any).
+	 * Must be called on the thread that runs the engine.
+	 * @param engine The running game.
+	 * @return The snapshot.
+	 */
+	public static SaveSnapshot of(GameEngine engine) {
+		return new SaveSnapshot(engine, true);
+	}
+
+	/**
+	 * Takes a snapshot of the per-round state only (no resource field), for delta records.
+	 * @param engine The running game.
+	 * @return The snapshot.
+	 */
+	public static SaveSnapshot deltaOf(GameEngine engine) {
+		return new SaveSnapshot(engine, false);
+	}
+
+	public int getRound() {
+		return round;
+	}
+
+	public int getMaxRounds() {
+		return maxRounds;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	/**
+	 * @param role A role index (see DietRules).
+	 * @return The score of the animal with that role, or 0 if there is none.
+	 */
+	public int getScore(int role) {
+		for (int i = 0; i < roles.length; i++) {
+			if (roles[i] == role) return scores[i];
+		}
+		return 0;
+	}
+}
@@ -2,24 +2,40 @@ package logic;
 
 import model.Entity;
 import model.Food;
+import model.DietRules;
 import model.animals.Animal;
 
 import java.awt.Point;
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class AIController {
 
-	private static final SecureRandom random = new SecureRandom();
+	/** How much a fully grown tile is worth to the prey, in units of threat distance score. */
+	private static final double FIELD_FOOD_WEIGHT = 10.0;
 
 	private static int calculateDistance(int x1, int y1, int x2, int y2) {
 		return Math.max(Math.abs(x1 - x2), Math.abs(y1 - y2));
 	}
 
-	public static int[] getNextMoveForPrey(Animal prey, Grid grid) {
+	public static int[] getNextMoveForPrey(Animal prey, Grid grid, List<Entity> entities, Random random) {
+		return getNextMoveForPrey(prey, grid, entities, null, random);
+	}
+
+	/**
+	 * Prey AI: keeps away from threats while heading for food. With a resource field the
+	 * food term is the density of the target tile itself, read straight from the field.
+	 * * @param prey     The prey animal.
+	 * @param grid     The game grid.
+	 * @param entities The entities on the board (see GameEngine.getEntities), so the AI never scans the grid.
+	 * @param field    The food density field, or null when food is a single entity.
+	 * @param random   Random source for tie-breaking.
+	 * @return The chosen target {x, y}.
+	 */
+	public static int[] getNextMoveForPrey(Animal prey, Grid grid, List<Entity> entities, ResourceField field, Random random) {
 		List<int[]> possibleMoves = getValidMoves(prey, grid);
-		List<Entity> allEntities = grid.getEntities();
+		List<Entity> allEntities = entities;
 		
 		int[] bestMove = {prey.getX(), prey.getY()};
 		double bestScore = -Double.MAX_VALUE;
@@ -33,14 +49,14 @@ public class AIController {
 			double minDistToFood = Double.MAX_VALUE;
 
 			for (Entity e : allEntities) {
-				if (e == prey) continue; 
+				if (e == prey || !isOnGrid(e, grid)) continue; 
 				
 				int dist = calculateDistance(mx, my, e.getX(), e.getY());
 
 				if (e instanceof Animal) {
-					String type = ((Animal) e).getType();
+					int role = e.getRole();
 					
-					if (type.equals("Predator") || type.equals("Apex")) {
+					if (role == DietRules.PREDATOR || role == DietRules.APEX) {
 						if (dist < minDistToThreat) minDistToThreat = dist;
 					}
 				} 
@@ -52,7 +68,11 @@ public class AIController {
 			if (minDistToThreat == Double.MAX_VALUE) minDistToThreat = 100; 
 			if (minDistToFood == Double.MAX_VALUE) minDistToFood = 100;
 
-			score = (minDistToThreat * 3.0) - minDistToFood;
+			if (field != null) {
+				score = (minDistToThreat * 3.0) + field.getDensity(mx, my) * FIELD_FOOD_WEIGHT;
+			} else {
+				score = (minDistToThreat * 3.0) - minDistToFood;
+			}
 
 			Cell targetCell = grid.getCell(mx, my);
 			if (!targetCell.isEmpty() && targetCell.getEntity() instanceof Food) {
@@ -69,20 +89,29 @@ public class AIController {
 		return bestMove;
 	}
 
-	public static int[] getNextMoveForApex(Animal apex, Grid grid) {
-		List<Entity> allEntities = grid.getEntities();
+	/**
+	 * Apex AI: heads for the closest prey or predator.
+	 * * @param apex     The apex animal.
+	 * @param grid     The game grid.
+	 * @param entities The entities on the board (see GameEngine.getEntities), so the AI never scans the grid.
+	 * @param random   Random source for tie-breaking.
+	 * @return The chosen target {x, y}.
+	 */
+	public static int[] getNextMoveForApex(Animal apex, Grid grid, List<Entity> entities, Random random) {
+		List<Entity> allEntities = entities;
 		Entity closestTarget = null;
 		int minGlobalDist = Integer.MAX_VALUE;
 
 		for (Entity e : allEntities) {
-			if (e == apex) continue;
+			if (e == apex || !isOnGrid(e, grid)) continue;
 
 			if (e instanceof Animal) {
-				String type = ((Animal) e).getType();
+				int role = e.getRole();
 				
-				if (type.equals("Prey") || type.equals("Predator")) {
+				if (role == DietRules.PREY || role == DietRules.PREDATOR) {
 					int dist = calculateDistance(apex.getX(), apex.getY(), e.getX(), e.getY());
-					if (dist < minGlobalDist) {
+					// Ties go to the target a grid scan (by column, then row) meets first.
+					if (dist < minGlobalDist || (dist == minGlobalDist && isBefore(e, closestTarget))) {
 						minGlobalDist = dist;
 						closestTarget = e;
 					}
@@ -91,7 +120,7 @@ public class AIController {
 		}
 
 		if (closestTarget == null) {
-			return getRandomValidMove(apex, grid);
+			return getRandomValidMove(apex, grid, random);
 		}
 
 		List<int[]> possibleMoves = getValidMoves(apex, grid);
@@ -112,6 +141,47 @@ public class AIController {
 		return bestMove;
 	}
 
+	/**
+	 * Autopilot for the player's animal, used by headless runs.
+	 * Picks the legal target (walk or ability) closest to the prey, or stays put.
+	 * * @param engine The running game.
+	 * @param random Random source for tie-breaking.
+	 * @return The chosen target {x, y}.
+	 */
+	public static int[] getNextMoveForPlayer(GameEngine engine, Random random) {
+		Animal player = engine.getPlayer();
+		Animal prey = engine.getPrey();
+
+		int[] bestMove = {player.getX(), player.getY()};
+		if (prey == null) return bestMove;
+
+		int minDist = calculateDistance(player.getX(), player.getY(), prey.getX(), prey.getY());
+
+		List<Point> targets = new ArrayList<>(engine.getPlayerNormalMoveTargets());
+		targets.addAll(engine.getPlayerSpecialMoveTargets());
+
+		for (Point p : targets) {
+			int dist = calculateDistance(p.x, p.y, prey.getX(), prey.getY());
+			if (dist < minDist) {
+				minDist = dist;
+				bestMove = new int[]{p.x, p.y};
+			} else if (dist == minDist && random.nextBoolean()) {
+				bestMove = new int[]{p.x, p.y};
+			}
+		}
+		return bestMove;
+	}
+
+	// An entity covered by another on the same cell (e.g. food under an animal that skips it) is not seen.
+	private static boolean isOnGrid(Entity e, Grid grid) {
+		Cell cell = grid.getCell(e.getX(), e.getY());
+		return cell != null && cell.getEntity() == e;
+	}
+
+	private static boolean isBefore(Entity a, Entity b) {
+		return a.getX() < b.getX() || (a.getX() == b.getX() && a.getY() < b.getY());
+	}
+
 	private static List<int[]> getValidMoves(Animal animal, Grid grid) {
 		List<int[]> moves = new ArrayList<>();
 		int cx = animal.getX();
@@ -142,7 +212,7 @@ public class AIController {
 				Entity e = cell.getEntity();
 
 				if (e instanceof Food) {
-					if (isSpecial && animal.getEra().equals("Future") && animal.getType().equals("Prey")) {
+					if (isSpecial && animal.getSpecies().isAbilitySkipsFood()) {
 						continue;
 					}
 					moves.add(new int[]{x, y});
@@ -158,7 +228,7 @@ public class AIController {
 		return moves;
 	}
 
-	private static int[] getRandomValidMove(Animal animal, Grid grid) {
+	private static int[] getRandomValidMove(Animal animal, Grid grid, Random random) {
 		List<int[]> moves = getValidMoves(animal, grid);
 		if (moves.isEmpty()) return new int[]{animal.getX(), animal.getY()};
 		return moves.get(random.nextInt(moves.size()));
@@ -0,0 +1,76 @@
+package logic;
+
+/**
+ * The areas of the board that changed since the view last drew them.
+ * The grid marks every cell it places, moves or clears; the engine adds the areas whose
+ * move highlights may have changed. A view reads the areas, repaints them and clears the set.
+ * * Task: Keeps repaint cost proportional to what happened in a round instead of to the board
+ * size. The areas live in fixed arrays; once they are full (or a change touches every tile,
+ * like a resource field tick) the set collapses to "everything changed".
+ * Methods: markCell, markArea, markAll, isAll, size, getMinX/Y, getMaxX/Y, clear.
+ */
+public class ChangeSet {
+
+	/** Areas tracked before the set falls back to "everything changed". */
+	private static final int CAPACITY = 256;
+
+	private final int[] minX = new int[CAPACITY];
+	private final int[] minY = new int[CAPACITY];
+	private final int[] maxX = new int[CAPACITY];
+	private final int[] maxY = new int[CAPACITY];
+	private int size;
+	private boolean all;
+
+	public void markCell(int x, int y) {
+		markArea(x, y, x, y);
+	}
+
+	/**
+	 * Marks a rectangle of cells (inclusive bounds, not clipped to the board).
+	 */
+	public void markArea(int x0, int y0, int x1, int y1) {
+		if (all) return;
+		if (size == CAPACITY) {
+			markAll();
+			return;
+		}
+		minX[size] = x0;
+		minY[size] = y0;
+		maxX[size] = x1;
+		maxY[size] = y1;
+		size++;
+	}
+
+	/**
+	 * Marks the whole board.
+	 */
+	public void markAll() {
+		all = true;
+		size = 0;
+	}
+
+	/**
+	 * @return true if the whole board must be repainted; the areas are then empty.
+	 */
+	public boolean isAll() {
+		return all;
+	}
+
+	public boolean isEmpty() {
+		return !all && size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getMinX(int i) { return minX[i]; }
+	public int getMinY(int i) { return minY[i]; }
+	public int getMaxX(int i) { return maxX[i]; }
+	public int getMaxY(int i) { return maxY[i]; }
+
+	public void clear() {
+		all = false;
+		size = 0;
+	}
+}
@@ -6,12 +6,17 @@ import java.io.IOException;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import exceptions.InvalidMoveException;
 import io.FileManager;
+import io.EventLog;
 import io.GameLogger;
+import io.LogCategory;
+import model.DietRules;
 import model.Entity;
 import model.Food;
+import model.GameState;
 import model.animals.Animal;
 
 /**
@@ -33,8 +38,29 @@ public class GameEngine {
 	private Animal player;
 	private Animal apex;
 	private Animal prey;
-
-	private final SecureRandom random = new SecureRandom();
+	private Food food;
+
+	private DietRules dietRules = DietRules.DEFAULT;
+	private long animalHash;
+
+	/** Food taken from the field per prey move. */
+	private static final float GRAZE_BITE = 0.2f;
+
+	private final GameLogger logger;
+	private final EventLog events;
+	private final Random random;
+	private final ResourceField resourceField;
+	private float grazed;
+	// The field's only change between two ticks: the prey's bite (tile index, amount taken), or -1.
+	private int lastGrazeTile = -1;
+	private float lastGrazeTaken;
+	private String[] foodChainNames;
+	private boolean soundEnabled = true;
+	private final RoundMoves roundMoves = new RoundMoves();
+	private final VisitCounts visits;
+	private final RoundTimings timings = new RoundTimings();
+	// The last prey move's time without logging, set by endRound.
+	private long preyNanos;
 
 	/**
 	 * Initializes the engine and sets up the game board.
@@ -43,7 +69,56 @@ public class GameEngine {
 	 * @param mode      The selected Era ("Past", "Present", "Future").
 	 */
 	public GameEngine(int gridSize, int maxRounds, String mode) {
-		GameLogger.init(); 
+		this(gridSize, maxRounds, mode, GameLogger.getDefault(), new GameRandom(new SecureRandom().nextLong()));
+	}
+
+	/**
+	 * Initializes an engine that logs and rolls dice through its own objects.
+	 * Used when several games share one JVM (see SessionManager).
+	 * * @param gridSize  The dimension of the square grid.
+	 * @param maxRounds The total number of rounds before the game ends.
+	 * @param mode      The selected Era ("Past", "Present", "Future").
+	 * @param logger    The logger this game writes to.
+	 * @param random    The random source for spawns, food chain choice and AI ties.
+	 */
+	public GameEngine(int gridSize, int maxRounds, String mode, GameLogger logger, Random random) {
+		this(gridSize, maxRounds, mode, logger, random, null);
+	}
+
+	/**
+	 * Initializes an engine, optionally in resource-field mode: instead of a Food entity,
+	 * every tile holds a regrowing food density that the prey grazes.
+	 * * @param gridSize      The dimension of the square grid.
+	 * @param maxRounds     The total number of rounds before the game ends.
+	 * @param mode          The selected Era ("Past", "Present", "Future").
+	 * @param logger        The logger this game writes to.
+	 * @param random        The random source for spawns, food chain choice and AI ties.
+	 * @param resourceField The food field (same size as the grid), or null for the classic Food entity.
+	 */
+	public GameEngine(int gridSize, int maxRounds, String mode, GameLogger logger, Random random, ResourceField resourceField) {
+		this(gridSize, maxRounds, mode, logger, random, resourceField, null);
+	}
+
+	/**
+	 * Initializes an engine that additionally records its events to a binary event log.
+	 * * @param gridSize      The dimension of the square grid.
+	 * @param maxRounds     The total number of rounds before the game ends.
+	 * @param mode          The selected Era ("Past", "Present", "Future").
+	 * @param logger        The logger this game writes to.
+	 * @param random        The random source for spawns, food chain choice and AI ties.
+	 * @param resourceField The food field (same size as the grid), or null for the classic Food entity.
+	 * @param events        The binary event log, or null; the caller closes it after the game.
+	 */
+	public GameEngine(int gridSize, int maxRounds, String mode, GameLogger logger, Random random,
+			ResourceField resourceField, EventLog events) {
+		if (resourceField != null && resourceField.getSize() != gridSize) {
+			throw new IllegalArgumentException("Resource field size must match the grid size.");
+		}
+		this.logger = logger;
+		this.events = events;
+		this.random = random;
+		this.resourceField = resourceField;
+		this.logger.open();
 		
 		this.currentRound = 0;
 		this.maxRounds = maxRounds;
@@ -51,29 +126,88 @@ public class GameEngine {
 		this.isGameOver = false;
 		
 		this.grid = new Grid(gridSize);
+		this.visits = new VisitCounts(gridSize);
 		this.animals = new ArrayList<>();
 		
 		initializeGame();
 	}
 
+	/**
+	 * Restore constructor: adopts a saved grid and entities as they are.
+	 * Does not truncate the log, load a food chain, spawn entities or move the prey.
+	 */
+	private GameEngine(GameState state, GameLogger logger, Random random, ResourceField resourceField, DietRules dietRules) {
+		this.logger = logger;
+		this.events = null;
+		this.random = random;
+		this.resourceField = resourceField;
+		this.dietRules = dietRules;
+
+		this.grid = state.getGrid();
+		this.visits = new VisitCounts(grid.getSize());
+		this.currentRound = state.getRound();
+		this.maxRounds = state.getMaxRounds();
+		this.currentMode = state.getMode();
+		this.isGameOver = currentRound >= maxRounds;
+		this.animals = new ArrayList<>();
+		this.foodChainNames = state.getFoodChainNames();
+		this.grazed = state.getGrazed();
+		this.food = state.getFood();
+
+		for (Animal animal : state.getAnimals()) {
+			addLoadedAnimal(animal);
+		}
+	}
+
+	/**
+	 * Builds an engine straight from saved state. Work is proportional to the saved
+	 * state only: the saved Grid is adopted, the log is continued instead of truncated,
+	 * and no food chain is loaded or entity spawned.
+	 * * @param state         The saved game (grid, entities, round counters).
+	 * @param logger        The logger this game continues writing to.
+	 * @param random        The random source, already positioned at the saved state.
+	 * @param resourceField The restored food field, or null for the classic Food entity.
+	 * @return The resumed engine.
+	 * @throws IOException If the era's diet rules cannot be loaded.
+	 */
+	public static GameEngine restore(GameState state, GameLogger logger, Random random, ResourceField resourceField) throws IOException {
+		if (resourceField != null && resourceField.getSize() != state.getGrid().getSize()) {
+			throw new IllegalArgumentException("Resource field size must match the grid size.");
+		}
+
+		DietRules rules = FileManager.loadDietRules(state.getMode());
+		GameEngine engine = new GameEngine(state, logger, random, resourceField, rules);
+
+		logger.resume();
+		logger.log(LogCategory.GAME, () -> String.format(
+			"GAME_RESUME era=%s round=%d/%d",
+			engine.currentMode, engine.currentRound, engine.maxRounds
+		));
+		return engine;
+	}
+
 	/**
 	 * Loads entity names from files, creates objects, and places them on the grid.
 	 * Also handles the initial logging and the first move of the Prey AI.
 	 */
 	public void initializeGame() {
 		try {
-			String[] names = FileManager.loadFoodChainNames(currentMode);
+			String[] names = FileManager.loadFoodChainNames(currentMode, random);
 			String apexName = names[0];
 			String predatorName = names[1];
 			String preyName = names[2];
 			String foodName = names[3];
+			foodChainNames = names;
+			if (events != null) events.begin(currentMode, grid.getSize(), maxRounds, names);
 
-			System.out.println("MODE=" + currentMode);
-			System.out.println("Loaded names: " + apexName + ", " + predatorName + ", " + preyName + ", " + foodName);
+			dietRules = FileManager.loadDietRules(currentMode);
 
 			apex = new Animal(apexName, "Apex", currentMode, 0, 0);
 			player = new Animal(predatorName, "Predator", currentMode, 0, 0);
 			prey = new Animal(preyName, "Prey", currentMode, 0, 0);
+			apex.setDietRules(dietRules);
+			player.setDietRules(dietRules);
+			prey.setDietRules(dietRules);
 
 			animals.clear();
 			animals.add(apex);
@@ -84,16 +218,29 @@ public class GameEngine {
 			spawnEntityRandomly(player);
 			spawnEntityRandomly(prey);
 
-			Food food = new Food(0, 0, foodName);
-			spawnEntityRandomly(food);
+			if (resourceField == null) {
+				food = new Food(0, 0, foodName);
+				spawnEntityRandomly(food);
+			}
+
+			animalHash = 0;
+			for (Animal a : animals) {
+				animalHash ^= animalKey(a);
+			}
 			
-			GameLogger.log(String.format(
-				"GAME_START era=%s totalRounds=%d playerRole=%s",
-				currentMode, maxRounds, (player != null ? player.getType() : "N/A")
+			logger.log(LogCategory.GAME, () -> String.format(
+				"GAME_START era=%s totalRounds=%d playerRole=%s seed=%s",
+				currentMode, maxRounds, (player != null ? player.getType() : "N/A"),
+				(random instanceof GameRandom ? Long.toString(((GameRandom) random).getSeed()) : "N/A")
+			));
+
+			logger.log(LogCategory.GAME, () -> String.format(
+				"FOOD_CHAIN apex=%s predator=%s prey=%s food=%s",
+				apexName, predatorName, preyName, foodName
 			));
 
 			if (player != null && apex != null && prey != null) {
-				GameLogger.log(String.format(
+				logger.log(LogCategory.SPAWN, () -> String.format(
 					"SPAWN player=%s(%s) (x=%d,y=%d)- apex=%s(%s) (x=%d,y=%d)- prey=%s(%s) (x=%d,y=%d)",
 					player.getName(), player.getType(), player.getX(), player.getY(),
 					apex.getName(), apex.getType(), apex.getX(), apex.getY(),
@@ -101,12 +248,12 @@ public class GameEngine {
 				));
 			}
 			
-			GameLogger.log(String.format(
+			logger.log(LogCategory.ROUND, () -> String.format(
 				"ROUND_BEGIN r=%d/%d era=%s playerRole=%s",
 				currentRound, maxRounds, currentMode, (player != null ? player.getType() : "N/A")
 			));
 
-			performAiMove(prey, AIController.getNextMoveForPrey(prey, grid));
+			movePrey();
 
 		} catch (IOException e) {
 			System.err.println("Game cannot started: " + e.getMessage());
@@ -124,6 +271,8 @@ public class GameEngine {
 	 */
 	public void processPlayerMove(int targetX, int targetY) throws InvalidMoveException {
 		if (isGameOver) return;
+		long roundStart = System.nanoTime();
+		long logStart = logger.getCallerNanos();
 
 		if (!grid.isValidPosition(targetX, targetY)) {
 			throw new InvalidMoveException("You cannot go beyond the map boundaries!");
@@ -138,22 +287,26 @@ public class GameEngine {
 			throw new InvalidMoveException("Invalid Move! (Out of range or Ability on cooldown)");
 		}
 
-		boolean isPresentPredator = currentMode.equals("Present") && player.getType().equals("Predator");
+		boolean isPresentPredator = player.getSpecies().isAbilityNeedsApex();
 		if (isPresentPredator && moveType == 2) {
 			if (!isAdjacent(player, apex)) {
 				throw new InvalidMoveException("This ability can only be used when near the Apex!");
 			}
 		}
 
+		roundMoves.clear();
+		markPlayerTargets();
+
 		boolean canEatFood = true;
-		if (currentMode.equals("Future") && player.getType().equals("Prey") && moveType == 2) {
+		if (moveType == 2 && player.getSpecies().isAbilitySkipsFood()) {
 			canEatFood = false;
 		}
 
 		if (moveType == 3) {
-			GameLogger.log(player.getName() + " stayed same location.");
-			GameLogger.log(String.format("MOVE PLAYER actor=%s(%s) from=(%d,%d) to=(%d,%d)", 
+			logger.log(LogCategory.MOVE, () -> player.getName() + " stayed same location.");
+			logger.log(LogCategory.MOVE, () -> String.format("MOVE PLAYER actor=%s(%s) from=(%d,%d) to=(%d,%d)", 
 					player.getName(), player.getType(), player.getX(), player.getY(), player.getX(), player.getY()));
+			if (events != null) events.move(currentRound, player.getRole(), fromX, fromY, fromX, fromY);
 		} 
 		else {
 			Cell targetCell = grid.getCell(targetX, targetY);
@@ -164,27 +317,56 @@ public class GameEngine {
 
 			if (isPresentPredator && moveType == 2) {
 				executePresentPredatorDash(targetX, targetY);
-				GameLogger.log(String.format(
+				logger.log(LogCategory.MOVE, () -> String.format(
 					"MOVE PLAYER actor=%s(%s) from=(%d,%d) to=(%d,%d) ",
 					player.getName(), player.getType(), fromX, fromY, targetX, targetY
 				));
+				if (events != null) events.move(currentRound, player.getRole(), fromX, fromY, targetX, targetY);
 			} else {
 				moveActor(player, targetX, targetY);
-				GameLogger.log(String.format(
+				logger.log(LogCategory.MOVE, () -> String.format(
 					"MOVE PLAYER actor=%s(%s) from=(%d,%d) to=(%d,%d) ",
 					player.getName(), player.getType(), fromX, fromY, targetX, targetY
 				));
+				if (events != null) events.move(currentRound, player.getRole(), fromX, fromY, targetX, targetY);
 
 				if (moveType == 2) {
+					long before = animalKey(player);
 					player.triggerAbilityCooldown();
-					GameLogger.log(player.getName() + " used special ability (" + player.getAbilityName() + ")!");
+					rehash(player, before);
+					logger.log(LogCategory.MOVE, () -> player.getName() + " used special ability (" + player.getAbilityName() + ")!");
+					if (events != null) events.ability(currentRound, player.getRole());
 				}
 			}
 		}
 
-		performAiMove(apex, AIController.getNextMoveForApex(apex, grid));
+		long apexStart = System.nanoTime();
+		long logApex = logger.getCallerNanos();
+		performAiMove(apex, AIController.getNextMoveForApex(apex, grid, getEntities(), random));
+		long apexEnd = System.nanoTime();
+		long logApexEnd = logger.getCallerNanos();
 
+		preyNanos = 0;
 		endRound();
+		markPlayerTargets();
+
+		timings.record(preyNanos,
+				(apexStart - roundStart) - (logApex - logStart),
+				(apexEnd - apexStart) - (logApexEnd - logApex),
+				logger.getCallerNanos() - logStart,
+				System.nanoTime() - roundStart);
+	}
+
+	/**
+	 * Marks the area around the player in which its move highlights can appear
+	 * (see getPlayerNormalMoveTargets and getPlayerSpecialMoveTargets), so that
+	 * views repaint the old and the new highlights of a round.
+	 */
+	private void markPlayerTargets() {
+		if (player == null) return;
+		int range = Math.max(2, player.getAbilityRange());
+		grid.getChanges().markArea(player.getX() - range, player.getY() - range,
+				player.getX() + range, player.getY() + range);
 	}
 
 	/**
@@ -205,14 +387,15 @@ public class GameEngine {
 		int moveType = actor.checkMoveType(target);
 
 		if (moveType == 3) {
-			GameLogger.log(String.format(
+			logger.log(LogCategory.MOVE, () -> String.format(
 				"MOVE AI actor=%s(%s) from=(%d,%d) to=(%d,%d) ",
 				actor.getName(), actor.getType(), fromX, fromY, fromX, fromY
 			));
+			if (events != null) events.move(currentRound, actor.getRole(), fromX, fromY, fromX, fromY);
 			return;
 		}
 
-		if (moveType == 2 && currentMode.equals("Future") && actor.getType().equals("Prey")) {
+		if (moveType == 2 && actor.getSpecies().isAbilitySkipsFood()) {
 			Cell tc = grid.getCell(targetX, targetY);
 			if (tc != null && !tc.isEmpty() && tc.getEntity() instanceof Food) {
 				return;
@@ -221,14 +404,46 @@ public class GameEngine {
 
 		moveActor(actor, targetX, targetY);
 		
-		GameLogger.log(String.format(
+		logger.log(LogCategory.MOVE, () -> String.format(
 			"MOVE AI actor=%s(%s) from=(%d,%d) to=(%d,%d) ",
 			actor.getName(), actor.getType(), fromX, fromY, targetX, targetY 
 		));
+		if (events != null) events.move(currentRound, actor.getRole(), fromX, fromY, targetX, targetY);
 
 		if (moveType == 2) {
+			long before = animalKey(actor);
 			actor.triggerAbilityCooldown();
-			GameLogger.log(actor.getName() + " used " + actor.getAbilityName());
+			rehash(actor, before);
+			logger.log(LogCategory.MOVE, () -> actor.getName() + " used " + actor.getAbilityName());
+			if (events != null) events.ability(currentRound, actor.getRole());
+		}
+	}
+
+	/**
+	 * Runs the prey's AI turn. In resource-field mode the prey then grazes its tile,
+	 * scoring the Prey/Food rule once for every full unit of food eaten.
+	 */
+	private void movePrey() {
+		performAiMove(prey, AIController.getNextMoveForPrey(prey, grid, getEntities(), resourceField, random));
+
+		if (resourceField == null || !prey.isAlive()) return;
+
+		lastGrazeTaken = resourceField.deplete(prey.getX(), prey.getY(), GRAZE_BITE);
+		lastGrazeTile = prey.getX() * resourceField.getSize() + prey.getY();
+		grazed += lastGrazeTaken;
+		while (grazed >= 1f) {
+			grazed -= 1f;
+
+			int gained = dietRules.getPointsGained(prey.getRole(), DietRules.FOOD);
+			long before = animalKey(prey);
+			prey.addScore(gained);
+			rehash(prey, before);
+			logger.log(LogCategory.SCORE, () -> String.format(
+				"SCORE_GAIN %s(%s) gain %d %s reason:%s",
+				prey.getName(), prey.getType(), gained, pointsWord(gained),
+				dietRules.getReason(prey.getRole(), DietRules.FOOD)
+			));
+			if (events != null) events.eat(currentRound, prey.getRole(), DietRules.FOOD, gained, 0);
 		}
 	}
 
@@ -246,14 +461,18 @@ public class GameEngine {
 			Entity victim = targetCell.getEntity();
 			
 			if (actor.canEat(victim)) {
+				roundMoves.move(actor, actor.getX(), actor.getY(), targetX, targetY);
 				handleEating(actor, victim);
 				
 				grid.moveEntity(actor, targetX, targetY);
 				actor.setPosition(new Point(targetX, targetY));
+				visits.visit(targetX, targetY);
 			} 
 		} else {
+			roundMoves.move(actor, actor.getX(), actor.getY(), targetX, targetY);
 			grid.moveEntity(actor, targetX, targetY);
 			actor.setPosition(new Point(targetX, targetY));
+			visits.visit(targetX, targetY);
 		}
 	}
 
@@ -263,63 +482,56 @@ public class GameEngine {
 	 * @param victim   The entity (Animal or Food) being eaten.
 	 */
 	private void handleEating(Animal attacker, Entity victim) {
-		String attType = attacker.getType();
-
-		if (attType.equals("Prey") && victim instanceof Food) {
-			attacker.addScore(3);
-			GameLogger.log(String.format(
-				"SCORE_GAIN %s(%s) gain 3 points reason:EAT_FOOD",
-				attacker.getName(), attacker.getType()
+		int eaterRole = attacker.getRole();
+		int victimRole = victim.getRole();
+
+		int gained = dietRules.getPointsGained(eaterRole, victimRole);
+		if (gained != 0) {
+			long before = animalKey(attacker);
+			attacker.addScore(gained);
+			rehash(attacker, before);
+			logger.log(LogCategory.SCORE, () -> String.format(
+				"SCORE_GAIN %s(%s) gain %d %s reason:%s",
+				attacker.getName(), attacker.getType(), gained, pointsWord(gained),
+				dietRules.getReason(eaterRole, victimRole)
 			));
 		}
-		
-		else if (attType.equals("Predator") && victim instanceof Animal) {
+
+		int lost = dietRules.getPointsLost(eaterRole, victimRole);
+		if (lost != 0 && victim instanceof Animal) {
 			Animal vAnimal = (Animal) victim;
-			attacker.addScore(3);
-			
-			GameLogger.log(String.format(
-				"SCORE_GAIN %s(%s) gain 3 points reason:PREDATOR_EATS_PREY",
-				attacker.getName(), attacker.getType()
-			));
-			
-			vAnimal.addScore(-1);
-			GameLogger.log(String.format(
-				"SCORE_LOSS %s(%s) loss 1 point reason:BE_EATEN",
-				vAnimal.getName(), vAnimal.getType()
+			long before = animalKey(vAnimal);
+			vAnimal.addScore(-lost);
+			rehash(vAnimal, before);
+			logger.log(LogCategory.SCORE, () -> String.format(
+				"SCORE_LOSS %s(%s) loss %d %s reason:BE_EATEN",
+				vAnimal.getName(), vAnimal.getType(), lost, pointsWord(lost)
 			));
 		}
-		
-		else if (attType.equals("Apex") && victim instanceof Animal) {
-			Animal vAnimal = (Animal) victim;
-			attacker.addScore(1);
-			
-			GameLogger.log(String.format(
-				"SCORE_GAIN %s(%s) gains 1 point reason:APEX_EATS_ANIMAL",
-				attacker.getName(), attacker.getType()
-			));
 
-			vAnimal.addScore(-1);
-			GameLogger.log(String.format(
-				"SCORE_LOSS %s(%s) loss 1 point reason:BE_EATEN",
-				vAnimal.getName(), vAnimal.getType()
-			));
-		}
+		if (events != null) events.eat(currentRound, eaterRole, victimRole, gained, lost);
 
+		roundMoves.remove(victim, victim.getX(), victim.getY());
 		grid.removeEntity(victim);
 
 		if (victim instanceof Animal) {
 			Animal victimAnimal = (Animal) victim;
 			victimAnimal.die();
 			spawnEntityRandomly(victimAnimal);
-			GameLogger.log(victimAnimal.getName() + " respawns");
+			logger.log(LogCategory.SPAWN, () -> victimAnimal.getName() + " respawns");
 		} 
 		else if (victim instanceof Food) {
 			Food eatenFood = (Food) victim;
-			spawnEntityRandomly(new Food(0, 0, eatenFood.getName()));
-			GameLogger.log(eatenFood.getName() + " respawns");
+			food = new Food(0, 0, eatenFood.getName());
+			spawnEntityRandomly(food);
+			logger.log(LogCategory.SPAWN, () -> eatenFood.getName() + " respawns");
 		}
 	}
 
+	private static String pointsWord(int points) {
+		return Math.abs(points) == 1 ? "point" : "points";
+	}
+
 	/**
 	 * Finds a random empty cell on the grid and places the entity there.
 	 * * @param e The entity to spawn.
@@ -334,11 +546,13 @@ public class GameEngine {
 		} while (!grid.getCell(x, y).isEmpty()); 
 		
 		grid.placeEntity(e, x, y);
+		roundMoves.spawn(e, x, y);
 		
 		if (e instanceof Animal) {
 			Animal animal = (Animal) e;
 			animal.setPosition(new Point(x, y));
 			animal.respawn(x, y); 
+			visits.visit(x, y);
 		}
 	}
 
@@ -347,10 +561,13 @@ public class GameEngine {
 			isGameOver = true;
 			String winner = getWinner();
 			
-			GameLogger.log(String.format(
+			logger.log(LogCategory.GAME, () -> String.format(
 				"GAME_OVER era=%s totalRounds=%d winner=%s",
 				currentMode, maxRounds, winner
 			));
+			if (events != null) events.gameOver(currentRound, getWinnerRole());
+
+			if (!soundEnabled) return;
 
 			if (winner.equals(player.getName())) {
 				io.SoundManager.playWinSound();
@@ -360,6 +577,22 @@ public class GameEngine {
 		}
 	}
 
+	/**
+	 * @return The role (see DietRules) of the current winner, or -1 for a draw.
+	 */
+	public int getWinnerRole() {
+		if (!player.isAlive()) return apex.getRole();
+
+		int pScore = player.getScore();
+		int aScore = apex.getScore();
+		int prScore = prey.getScore();
+
+		if (pScore > aScore && pScore > prScore) return player.getRole();
+		if (aScore > pScore && aScore > prScore) return apex.getRole();
+		if (prScore > pScore && prScore > aScore) return prey.getRole();
+		return -1;
+	}
+
 	public String getWinner() {
 		if (!player.isAlive()) {
 			return apex.getName() + " (Player Eliminated)";
@@ -380,33 +613,81 @@ public class GameEngine {
 	 * Finalizes the current round, reduces cooldowns, and prepares the next round.
 	 */
 	private void endRound() {
-		GameLogger.log(String.format(
-			"ROUND_END r=%d/%d era=%s scores: player=%d apex=%d prey=%d",
-			currentRound, maxRounds, currentMode,
-			player.getScore(),
-			apex.getScore(),
-			prey.getScore()
-		));
+		// With ROUND filtered, a logger that has HASH switched on still gets the state hash.
+		if (logger.isEnabled(LogCategory.ROUND)) {
+			logger.log(LogCategory.ROUND, () -> String.format(
+				"ROUND_END r=%d/%d era=%s scores: player=%d apex=%d prey=%d hash=%016x",
+				currentRound, maxRounds, currentMode,
+				player.getScore(),
+				apex.getScore(),
+				prey.getScore(),
+				getStateHash()
+			));
+		} else {
+			logger.log(LogCategory.HASH, () -> String.format("ROUND_END r=%d/%d hash=%016x",
+				currentRound, maxRounds, getStateHash()));
+		}
+		if (events != null) events.roundEnd(currentRound, getStateHash());
 		
-		if (player.isAlive()) player.reduceCooldown();
-		if (apex.isAlive()) apex.reduceCooldown();
-		if (prey.isAlive()) prey.reduceCooldown();
+		if (player.isAlive()) reduceCooldown(player);
+		if (apex.isAlive()) reduceCooldown(apex);
+		if (prey.isAlive()) reduceCooldown(prey);
+
+		if (resourceField != null) {
+			resourceField.tick();
+			grid.getChanges().markAll();
+			lastGrazeTile = -1;
+		}
 		
 		currentRound++;
 		checkGameOver();
 	  
 		if (!isGameOver) {
-			GameLogger.log(String.format(
+			logger.log(LogCategory.ROUND, () -> String.format(
 				"ROUND_BEGIN r=%d/%d era=%s playerRole=%s",
 				currentRound, maxRounds, currentMode,
 				(player != null ? player.getType() : "N/A")
 			));
 
-			performAiMove(prey, AIController.getNextMoveForPrey(prey, grid));
+			long preyStart = System.nanoTime();
+			long logPrey = logger.getCallerNanos();
+			movePrey();
+			preyNanos = (System.nanoTime() - preyStart) - (logger.getCallerNanos() - logPrey);
 		}
 	}
 
+	private void reduceCooldown(Animal animal) {
+		long before = animalKey(animal);
+		animal.reduceCooldown();
+		rehash(animal, before);
+	}
+
+	private static long animalKey(Animal animal) {
+		return StateHash.animalKey(animal.getRole(), animal.getScore(), animal.getAbilityCooldown());
+	}
+
+	/**
+	 * Swaps an animal's old score/cooldown key for its current one.
+	 * * @param animal The animal that changed.
+	 * @param before The animal's key before the change.
+	 */
+	private void rehash(Animal animal, long before) {
+		animalHash ^= before ^ animalKey(animal);
+	}
+
+	/**
+	 * Returns the incremental hash of the game state: every entity position plus
+	 * each animal's score and cooldown. Two runs that agree on this value at every
+	 * ROUND_END have stayed in lockstep.
+	 * * @return The current state hash.
+	 */
+	public long getStateHash() {
+		return grid.getPositionHash() ^ animalHash;
+	}
+
 	public void clearAllEntities() {
+		this.animalHash = 0;
+		this.food = null;
 		this.grid.clear(); 
 		if (this.animals != null) {
 			this.animals.clear();
@@ -432,16 +713,8 @@ public class GameEngine {
 			for (int dy = -1; dy <= 1; dy++) {
 				if (dx == 0 && dy == 0) continue;
 
-				int tx = cx + dx;
-				int ty = cy + dy;
-
-				if (!grid.isValidPosition(tx, ty)) continue;
-
-				int moveType = player.checkMoveType(new Point(tx, ty));
-				if (moveType != 1) continue;
-
-				if (isCellMovableFor(player, tx, ty, false)) {
-					targets.add(new Point(tx, ty));
+				if (isPlayerNormalTarget(cx + dx, cy + dy)) {
+					targets.add(new Point(cx + dx, cy + dy));
 				}
 			}
 		}
@@ -454,14 +727,7 @@ public class GameEngine {
 	 * * @return List of Points for valid ability destinations.
 	 */
 	public List<Point> getPlayerSpecialMoveTargets() {
-		if (isGameOver || player == null || !player.isAlive()) return Collections.emptyList();
-		if (!player.isAbilityAvailable()) return Collections.emptyList();
-
-		if (currentMode.equals("Present") && player.getType().equals("Predator")) {
-			if (!isAdjacent(player, apex)) {
-				return Collections.emptyList();
-			}
-		}
+		if (!canPlayerUseAbility()) return Collections.emptyList();
 
 		List<Point> targets = new ArrayList<>();
 		int cx = player.getX();
@@ -470,18 +736,69 @@ public class GameEngine {
 		int range = Math.max(2, player.getAbilityRange());
 		for (int x = cx - range; x <= cx + range; x++) {
 			for (int y = cy - range; y <= cy + range; y++) {
+				if (isPlayerSpecialTarget(x, y)) {
+					targets.add(new Point(x, y));
+				}
+			}
+		}
+		return targets;
+	}
 
-				if (!grid.isValidPosition(x, y)) continue;
+	/**
+	 * Fills the player's walk and ability targets into a reusable bitset, the
+	 * allocation-free counterpart of getPlayerNormalMoveTargets and
+	 * getPlayerSpecialMoveTargets used by the view on every paint.
+	 * * @param out The targets to overwrite.
+	 */
+	public void collectPlayerTargets(MoveTargets out) {
+		if (isGameOver || player == null || !player.isAlive()) {
+			out.clear();
+			return;
+		}
 
-				int moveType = player.checkMoveType(new Point(x, y));
-				if (moveType != 2) continue;
+		int cx = player.getX();
+		int cy = player.getY();
+		int range = Math.max(2, player.getAbilityRange());
+		out.reset(cx, cy, range);
 
-				if (isCellMovableFor(player, x, y, true)) {
-					targets.add(new Point(x, y));
+		for (int dx = -1; dx <= 1; dx++) {
+			for (int dy = -1; dy <= 1; dy++) {
+				if ((dx != 0 || dy != 0) && isPlayerNormalTarget(cx + dx, cy + dy)) {
+					out.setNormal(cx + dx, cy + dy);
+				}
+			}
+		}
+
+		if (!canPlayerUseAbility()) return;
+		for (int x = cx - range; x <= cx + range; x++) {
+			for (int y = cy - range; y <= cy + range; y++) {
+				if (isPlayerSpecialTarget(x, y)) {
+					out.setSpecial(x, y);
 				}
 			}
 		}
-		return targets;
+	}
+
+	private boolean isPlayerNormalTarget(int tx, int ty) {
+		if (!grid.isValidPosition(tx, ty)) return false;
+		if (player.checkMoveType(tx, ty) != 1) return false;
+		return isCellMovableFor(player, tx, ty, false);
+	}
+
+	private boolean canPlayerUseAbility() {
+		if (isGameOver || player == null || !player.isAlive()) return false;
+		if (!player.isAbilityAvailable()) return false;
+
+		if (player.getSpecies().isAbilityNeedsApex()) {
+			return isAdjacent(player, apex);
+		}
+		return true;
+	}
+
+	private boolean isPlayerSpecialTarget(int x, int y) {
+		if (!grid.isValidPosition(x, y)) return false;
+		if (player.checkMoveType(x, y) != 2) return false;
+		return isCellMovableFor(player, x, y, true);
 	}
 
 	/**
@@ -522,7 +839,7 @@ public class GameEngine {
 
 		Entity e = targetCell.getEntity();
 
-		if (isSpecial && currentMode.equals("Future") && actor.getType().equals("Prey") && (e instanceof Food)) {
+		if (isSpecial && actor.getSpecies().isAbilitySkipsFood() && (e instanceof Food)) {
 			return false;
 		}
 
@@ -531,14 +848,16 @@ public class GameEngine {
 
 
 	public void addLoadedAnimal(Animal animal) {
+		animal.setDietRules(dietRules);
 		this.animals.add(animal);
-		String type = animal.getType();
+		this.animalHash ^= animalKey(animal);
+		int role = animal.getRole();
 		
-		if (type.equals("Predator")) {
+		if (role == DietRules.PREDATOR) {
 			this.player = animal;
-		} else if (type.equals("Apex")) {
+		} else if (role == DietRules.APEX) {
 			this.apex = animal;
-		} else if (type.equals("Prey")) {
+		} else if (role == DietRules.PREY) {
 			this.prey = animal;
 		}
 	}
@@ -550,7 +869,8 @@ public class GameEngine {
 	 */
 	private void executePresentPredatorDash(int targetX, int targetY) {
 		moveActor(player, targetX, targetY);
-		GameLogger.log(player.getName() + " used Dash");
+		logger.log(LogCategory.MOVE, () -> player.getName() + " used Dash");
+		if (events != null) events.ability(currentRound, player.getRole());
 	}
 
 	/**
@@ -571,6 +891,13 @@ public class GameEngine {
 
 
 	public Grid getGrid() { return grid; }
+	public ChangeSet getChanges() { return grid.getChanges(); }
+	/** @return The moves, eats and respawns of the last player move, in the order they happened. */
+	public RoundMoves getRoundMoves() { return roundMoves; }
+	/** @return How often animals arrived on each tile since this engine was created. */
+	public VisitCounts getVisits() { return visits; }
+	/** @return The engine time of the last rounds, split into AI, player and logging. */
+	public RoundTimings getTimings() { return timings; }
 	public int getCurrentRound() { return currentRound; }
 	public void setCurrentRound(int currentRound) {	this.currentRound = currentRound; }
 	
@@ -582,4 +909,32 @@ public class GameEngine {
 	public Animal getPlayer() { return player; }
 	public Animal getApex() { return apex; }
 	public Animal getPrey() { return prey; }
+	public Food getFood() { return food; }
+
+	/**
+	 * Returns the game's entities without scanning the grid: the animals, then the food item.
+	 * @return The animals plus the Food entity (if any).
+	 */
+	public List<Entity> getEntities() {
+		List<Entity> entities = new ArrayList<>(animals);
+		if (food != null) entities.add(food);
+		return entities;
+	}
+
+	public GameLogger getLogger() { return logger; }
+	public Random getRandom() { return random; }
+	public ResourceField getResourceField() { return resourceField; }
+	public float getGrazed() { return grazed; }
+	/** @return The field tile (x * size + y) the prey grazed since the last tick, or -1. */
+	public int getLastGrazeTile() { return lastGrazeTile; }
+	/** @return The food the prey took from that tile. */
+	public float getLastGrazeTaken() { return lastGrazeTaken; }
+	public void setGrazed(float grazed) { this.grazed = grazed; }
+
+	/**
+	 * @return The food chain of this game as {Apex, Predator, Prey, Food} names.
+	 */
+	public String[] getFoodChainNames() { return foodChainNames; }
+	public void setFoodChainNames(String[] foodChainNames) { this.foodChainNames = foodChainNames; }
+	public void setSoundEnabled(boolean soundEnabled) { this.soundEnabled = soundEnabled; }
 }
\ No newline at end of file
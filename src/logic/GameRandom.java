@@ -0,0 +1,63 @@
+package logic;
+
+import java.util.Random;
+
+/**
+ * The game's random source: the same linear congruential generator as java.util.Random
+ * (so a seed produces the same sequence), but with a state that can be read and restored.
+ * * Task: Lets a save file carry the exact RNG position, so a resumed game rolls the same
+ * dice the original would have.
+ * Methods: getSeed, getState, setState.
+ */
+public class GameRandom extends Random {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	// No initializer: Random's constructor calls setSeed() before field initializers run.
+	private long state;
+	private long seed;
+
+	public GameRandom(long seed) {
+		super(seed);
+	}
+
+	@Override
+	public synchronized void setSeed(long seed) {
+		super.setSeed(seed);
+		this.seed = seed;
+		this.state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+
+	/**
+	 * @return The seed last passed to the constructor or {@link #setSeed(long)}; replaying a
+	 *         game with it reproduces the game.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return The raw 48-bit generator state.
+	 */
+	public long getState() {
+		return state;
+	}
+
+	/**
+	 * Restores a state previously returned by {@link #getState()}.
+	 * @param state The raw 48-bit generator state.
+	 */
+	public void setState(long state) {
+		this.state = state & MASK;
+	}
+}
@@ -0,0 +1,197 @@
+package logic;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import io.FileManager;
+import io.GameLogger;
+import io.LogCategory;
+import io.LogFiles;
+import io.LogLevel;
+
+/**
+ * One independent game hosted by the SessionManager.
+ * Owns its GameEngine, log, save file and random source, and processes
+ * commands one at a time on its own (virtual) thread.
+ * * Task: Serializes all access to the engine through a bounded command queue.
+ * Methods: submitMove, save, stop, run.
+ */
+public class GameSession implements Runnable {
+
+	/** Maximum number of commands that may wait for one session. */
+	public static final int MAX_PENDING_COMMANDS = 16;
+
+	private static final int MOVE = 0;
+	private static final int SAVE = 1;
+	private static final int STOP = 2;
+
+	private final String id;
+	private final GameEngine engine;
+	private final GameLogger logger;
+	private volatile boolean stateHashes;
+	private final String saveFile;
+	private final Semaphore activeSlots;
+	private final BlockingQueue<Command> commands = new ArrayBlockingQueue<>(MAX_PENDING_COMMANDS);
+
+	private volatile boolean running = true;
+
+	/**
+	 * Creates the session and its engine. The save file lives in the given directory,
+	 * the log in the manager's shared, size-limited log directory.
+	 * * @param id          The session identifier.
+	 * @param directory   The directory holding this session's save file.
+	 * @param logFiles    The log directory that rotates and retains the session's log.
+	 * @param gridSize    The dimension of the square grid.
+	 * @param maxRounds   The total number of rounds.
+	 * @param mode        The selected Era ("Past", "Present", "Future").
+	 * @param seed        Seed of the session's random source.
+	 * @param activeSlots Shared permits limiting how many sessions compute at once.
+	 * @throws IOException If the log directory cannot be created.
+	 */
+	GameSession(String id, File directory, LogFiles logFiles, int gridSize, int maxRounds, String mode, long seed,
+			Semaphore activeSlots) throws IOException {
+		this.id = id;
+		this.activeSlots = activeSlots;
+		this.logger = logFiles.newLogger(id, 0);
+		this.saveFile = new File(directory, "savegame.dat").getPath();
+
+		this.engine = new GameEngine(gridSize, maxRounds, mode, logger, new GameRandom(seed));
+		this.engine.setSoundEnabled(false);
+		this.logger.shutdown();
+	}
+
+	/**
+	 * Queues a player move. The returned future completes after the round has been played,
+	 * or exceptionally with InvalidMoveException if the move was rejected.
+	 * * @param x Target X coordinate.
+	 * @param y Target Y coordinate.
+	 * @return Future signalling the outcome of the move.
+	 */
+	public CompletableFuture<Void> submitMove(int x, int y) {
+		return enqueue(new Command(MOVE, x, y));
+	}
+
+	/**
+	 * Queues a save of the current state into this session's save file.
+	 * @return Future completed once the file is written.
+	 */
+	public CompletableFuture<Void> save() {
+		return enqueue(new Command(SAVE, 0, 0));
+	}
+
+	/**
+	 * Asks the session thread to finish after the commands already queued.
+	 * @return Future completed when the session has stopped.
+	 */
+	public CompletableFuture<Void> stop() {
+		return enqueue(new Command(STOP, 0, 0));
+	}
+
+	private CompletableFuture<Void> enqueue(Command command) {
+		if (!running) {
+			command.result.completeExceptionally(new IllegalStateException("Session " + id + " is stopped."));
+		} else if (!commands.offer(command)) {
+			command.result.completeExceptionally(new IllegalStateException("Session " + id + " is busy."));
+		}
+		return command.result;
+	}
+
+	/**
+	 * Session loop: sleeps while idle, then plays queued commands one at a time.
+	 * The log file is only held open while the session has work to do.
+	 */
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				Command command = commands.take();
+
+				activeSlots.acquire();
+				try {
+					logger.resume();
+					execute(command);
+					if (commands.isEmpty()) {
+						logger.shutdown();
+					}
+				} finally {
+					activeSlots.release();
+				}
+
+				// Give other sessions a turn before draining our own backlog.
+				Thread.yield();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			running = false;
+			logger.dispose();
+			Command pending;
+			while ((pending = commands.poll()) != null) {
+				pending.result.completeExceptionally(new IllegalStateException("Session " + id + " is stopped."));
+			}
+		}
+	}
+
+	private void execute(Command command) {
+		try {
+			switch (command.kind) {
+				case MOVE:
+					engine.processPlayerMove(command.x, command.y);
+					break;
+				case SAVE:
+					FileManager.saveGame(engine, saveFile);
+					break;
+				case STOP:
+					running = false;
+					break;
+			}
+			command.result.complete(null);
+		} catch (Exception e) {
+			command.result.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Sets how much of this session's play is written to its log file.
+	 * @param level The verbosity; LogLevel.SUMMARY keeps only game start/over lines.
+	 */
+	public void setLogLevel(LogLevel level) {
+		logger.setLevel(level);
+		if (stateHashes) logger.setEnabled(LogCategory.HASH, true);
+	}
+
+	/**
+	 * Writes each round's state hash to the log even below LogLevel.INFO, so the session
+	 * can be checked against a replay with LockstepVerifier. Off by default.
+	 * @param enabled Whether the hashes are written.
+	 */
+	public void setStateHashLogging(boolean enabled) {
+		stateHashes = enabled;
+		logger.setEnabled(LogCategory.HASH, enabled);
+	}
+
+	public String getId() { return id; }
+	public GameEngine getEngine() { return engine; }
+	public String getSaveFile() { return saveFile; }
+	public boolean isRunning() { return running; }
+
+	/**
+	 * A queued request for the session thread.
+	 */
+	private static final class Command {
+		private final int kind;
+		private final int x;
+		private final int y;
+		private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+		private Command(int kind, int x, int y) {
+			this.kind = kind;
+			this.x = x;
+			this.y = y;
+		}
+	}
+}
@@ -9,7 +9,8 @@ import java.util.List;
  * Represents the game board (grid) consisting of a 2D array of Cells.
  * This class manages the placement, movement, and removal of entities.
  * * Task: Acts as the container for the game world and handles coordinate validation.
- * Methods: placeEntity, moveEntity, removeEntity, clear, getEntities, isValidPosition.
+ * Every change is also recorded in a ChangeSet so that views can repaint only those cells.
+ * Methods: placeEntity, moveEntity, removeEntity, clear, getEntities, isValidPosition, getChanges.
  */
 public class Grid implements Serializable {
 	
@@ -17,6 +18,10 @@ public class Grid implements Serializable {
 	
 	private Cell[][] cells;
 	private int size;
+	private long positionHash;
+
+	// View bookkeeping only; not part of the saved state.
+	private transient ChangeSet changes;
 
 	public Grid(int size) {
 		this.size = size;
@@ -43,6 +48,8 @@ public class Grid implements Serializable {
 		if (isValidPosition(x, y)) {
 			cells[x][y].setEntity(e);
 			e.setPosition(x, y);
+			positionHash ^= StateHash.positionKey(e.getRole(), x, y);
+			getChanges().markCell(x, y);
 		}
 	}
 
@@ -57,12 +64,16 @@ public class Grid implements Serializable {
 		if (isValidPosition(newX, newY)) {
 			// 1. Clear the old position
 			cells[e.getX()][e.getY()].removeEntity();
+			positionHash ^= StateHash.positionKey(e.getRole(), e.getX(), e.getY());
+			getChanges().markCell(e.getX(), e.getY());
 			
 			// 2. Set entity in the new position
 			cells[newX][newY].setEntity(e);
 			
 			// 3. Update the entity's internal coordinates
 			e.setPosition(newX, newY);
+			positionHash ^= StateHash.positionKey(e.getRole(), newX, newY);
+			getChanges().markCell(newX, newY);
 		}
 	}
 
@@ -73,6 +84,8 @@ public class Grid implements Serializable {
 	public void removeEntity(Entity e) {
 		if (isValidPosition(e.getX(), e.getY())) {
 			cells[e.getX()][e.getY()].removeEntity();
+			positionHash ^= StateHash.positionKey(e.getRole(), e.getX(), e.getY());
+			getChanges().markCell(e.getX(), e.getY());
 		}
 	}
 
@@ -87,13 +100,15 @@ public class Grid implements Serializable {
 				cells[i][j].setEntity(null);
 			}
 		}
+		positionHash = 0;
+		getChanges().markAll();
 	}
 
 	// --- DATA ACCESS & VALIDATION ---
 
 	/**
 	 * Scans the entire grid to return a list of all active entities.
-	 * Used by the GameEngine/AI to know where everyone is.
+	 * Visits every cell, so the hot paths use GameEngine.getEntities instead; kept for saving.
 	 * @return A list of all entities currently on the grid.
 	 */
 	public List<Entity> getEntities() { 
@@ -129,4 +144,21 @@ public class Grid implements Serializable {
 	public int getSize() {
 		return size;
 	}
+
+	/**
+	 * @return XOR of the position keys of every entity on the grid (see StateHash).
+	 */
+	public long getPositionHash() {
+		return positionHash;
+	}
+
+	/**
+	 * @return The cells changed since a view last cleared the set.
+	 */
+	public ChangeSet getChanges() {
+		if (changes == null) {
+			changes = new ChangeSet();
+		}
+		return changes;
+	}
 }
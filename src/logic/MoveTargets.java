@@ -0,0 +1,86 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * The player's current move targets as two bitsets (walk and ability) over the square
+ * window around the player in which targets can lie.
+ * * Task: Lets the view test "is this cell highlighted?" for every visible cell without
+ * building lists of Points on each paint. One instance is filled again and again by
+ * GameEngine.collectPlayerTargets; its arrays only grow when the window does.
+ * Methods: isNormal, isSpecial, getMinX, getMinY, getMaxX, getMaxY, isEmpty.
+ */
+public class MoveTargets {
+
+	private int originX;
+	private int originY;
+	private int side;
+	private boolean empty = true;
+	private long[] normal = new long[1];
+	private long[] special = new long[1];
+
+	/**
+	 * Clears the targets and centres the window on a cell.
+	 * @param centerX The player's X coordinate.
+	 * @param centerY The player's Y coordinate.
+	 * @param radius  Largest distance of a target from the player.
+	 */
+	void reset(int centerX, int centerY, int radius) {
+		originX = centerX - radius;
+		originY = centerY - radius;
+		side = 2 * radius + 1;
+		empty = true;
+
+		int words = (side * side + 63) >>> 6;
+		if (normal.length < words) {
+			normal = new long[words];
+			special = new long[words];
+		} else {
+			Arrays.fill(normal, 0, words, 0L);
+			Arrays.fill(special, 0, words, 0L);
+		}
+	}
+
+	/**
+	 * Clears the targets (no player, or the game is over).
+	 */
+	void clear() {
+		reset(0, 0, 0);
+	}
+
+	void setNormal(int x, int y) {
+		int bit = index(x, y);
+		normal[bit >>> 6] |= 1L << bit;
+		empty = false;
+	}
+
+	void setSpecial(int x, int y) {
+		int bit = index(x, y);
+		special[bit >>> 6] |= 1L << bit;
+		empty = false;
+	}
+
+	public boolean isNormal(int x, int y) {
+		int bit = index(x, y);
+		return bit >= 0 && (normal[bit >>> 6] & 1L << bit) != 0;
+	}
+
+	public boolean isSpecial(int x, int y) {
+		int bit = index(x, y);
+		return bit >= 0 && (special[bit >>> 6] & 1L << bit) != 0;
+	}
+
+	// Bit of a cell, or -1 outside the window.
+	private int index(int x, int y) {
+		int dx = x - originX;
+		int dy = y - originY;
+		if (dx < 0 || dy < 0 || dx >= side || dy >= side) return -1;
+		return dx * side + dy;
+	}
+
+	public boolean isEmpty() { return empty; }
+	public int getMinX() { return originX; }
+	public int getMinY() { return originY; }
+	public int getMaxX() { return originX + side - 1; }
+	public int getMaxY() { return originY + side - 1; }
+}
@@ -0,0 +1,145 @@
+package logic;
+
+import java.io.Serializable;
+import java.util.stream.IntStream;
+
+/**
+ * Optional food model where every tile holds a food density between 0 and 1
+ * instead of a single Food entity. Each round the density regrows logistically
+ * and diffuses to the four neighbouring tiles.
+ * * Task: Keeps the densities in one flat float[] (index = x * size + y, the same
+ * layout as Grid) and updates them with a parallel 5-point stencil into a second
+ * buffer, then swaps the buffers. Every tile only reads the previous buffer, so the
+ * result is identical no matter how the rows are split across cores.
+ * Methods: tick, getDensity, deplete.
+ */
+public class ResourceField implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Rows per parallel task; small enough to balance, large enough to amortize the fork. */
+	private static final int ROWS_PER_TASK = 64;
+
+	/** Regrowth floor, so fully grazed tiles recover instead of staying empty forever. */
+	private static final float REGROWTH_SEED = 0.02f;
+
+	private final int size;
+	private final float regrowthRate;
+	private final float diffusionRate;
+
+	private float[] density;
+	private float[] next;
+
+	/**
+	 * Creates a field where every tile starts at the given density.
+	 * * @param size          Side length of the (square) field.
+	 * @param initialDensity Starting density of each tile (0..1).
+	 * @param regrowthRate  Logistic growth rate per round (e.g., 0.05).
+	 * @param diffusionRate Share exchanged with each neighbour per round (0..0.25).
+	 */
+	public ResourceField(int size, float initialDensity, float regrowthRate, float diffusionRate) {
+		if (diffusionRate < 0f || diffusionRate > 0.25f) {
+			throw new IllegalArgumentException("Diffusion rate must be between 0 and 0.25.");
+		}
+		this.size = size;
+		this.regrowthRate = regrowthRate;
+		this.diffusionRate = diffusionRate;
+		this.density = new float[size * size];
+		this.next = new float[size * size];
+		java.util.Arrays.fill(density, initialDensity);
+	}
+
+	/**
+	 * Advances the field by one round: diffusion followed by regrowth.
+	 */
+	public void tick() {
+		int tasks = (size + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+		IntStream.range(0, tasks).parallel().forEach(task -> {
+			int from = task * ROWS_PER_TASK;
+			int to = Math.min(size, from + ROWS_PER_TASK);
+			for (int x = from; x < to; x++) {
+				updateRow(x);
+			}
+		});
+
+		float[] swap = density;
+		density = next;
+		next = swap;
+	}
+
+	private void updateRow(int x) {
+		float[] d = density;
+		float[] out = next;
+		int row = x * size;
+		int up = x > 0 ? row - size : row;
+		int down = x < size - 1 ? row + size : row;
+
+		for (int y = 0; y < size; y++) {
+			int i = row + y;
+			float center = d[i];
+			float left = y > 0 ? d[i - 1] : center;
+			float right = y < size - 1 ? d[i + 1] : center;
+
+			// Edges reflect: a missing neighbour is treated as the tile itself.
+			float value = center + diffusionRate * (d[up + y] + d[down + y] + left + right - 4f * center);
+			value += regrowthRate * (value + REGROWTH_SEED) * (1f - value);
+
+			out[i] = value < 0f ? 0f : (value > 1f ? 1f : value);
+		}
+	}
+
+	/**
+	 * @param x X coordinate.
+	 * @param y Y coordinate.
+	 * @return Food density of the tile (0..1).
+	 */
+	public float getDensity(int x, int y) {
+		return density[x * size + y];
+	}
+
+	/**
+	 * Removes up to the given amount of food from a tile.
+	 * * @param x      X coordinate.
+	 * @param y      Y coordinate.
+	 * @param amount The most that may be taken.
+	 * @return The amount actually taken.
+	 */
+	public float deplete(int x, int y, float amount) {
+		int i = x * size + y;
+		float taken = Math.min(amount, density[i]);
+		density[i] -= taken;
+		return taken;
+	}
+
+	/**
+	 * Direct access to the current densities (index = x * size + y), for readers such as the
+	 * prey AI and the renderer. Callers must not keep the array across a tick.
+	 * @return The current density buffer.
+	 */
+	public float[] getDensities() {
+		return density;
+	}
+
+	/**
+	 * Overwrites every density, e.g. when restoring a saved game.
+	 * @param densities size * size values laid out as x * size + y.
+	 */
+	public void setDensities(float[] densities) {
+		if (densities.length != density.length) {
+			throw new IllegalArgumentException("Expected " + density.length + " densities, got " + densities.length);
+		}
+		System.arraycopy(densities, 0, density, 0, densities.length);
+	}
+
+	public float getRegrowthRate() {
+		return regrowthRate;
+	}
+
+	public float getDiffusionRate() {
+		return diffusionRate;
+	}
+
+	public int getSize() {
+		return size;
+	}
+}
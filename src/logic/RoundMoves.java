@@ -0,0 +1,71 @@
+package logic;
+
+import model.Entity;
+
+/**
+ * What happened on the board during the last player move, in the order it happened:
+ * every actor move, and every entity that was eaten (removed) or respawned.
+ * * Task: Lets a view replay a round step by step after the engine has already resolved it.
+ * A click runs the player, the apex and then the prey that opens the next round, so the
+ * records follow the game's turn order (prey, player, apex) across round boundaries. The
+ * records live in fixed arrays that the engine clears at the start of every player move.
+ * Methods: getKind, getEntity, getFromX, getFromY, getToX, getToY, size.
+ */
+public class RoundMoves {
+
+	/** An actor walked or used its ability from one cell to another. */
+	public static final int MOVE = 0;
+	/** An entity was eaten and left the board (at the from/to cell). */
+	public static final int REMOVE = 1;
+	/** An entity appeared on the board (at the from/to cell). */
+	public static final int SPAWN = 2;
+
+	/** Records kept per player move; three moves and their eats need far fewer. */
+	private static final int CAPACITY = 16;
+
+	private final int[] kinds = new int[CAPACITY];
+	private final Entity[] entities = new Entity[CAPACITY];
+	private final int[] fromX = new int[CAPACITY];
+	private final int[] fromY = new int[CAPACITY];
+	private final int[] toX = new int[CAPACITY];
+	private final int[] toY = new int[CAPACITY];
+	private int size;
+
+	void move(Entity e, int x0, int y0, int x1, int y1) {
+		add(MOVE, e, x0, y0, x1, y1);
+	}
+
+	void remove(Entity e, int x, int y) {
+		add(REMOVE, e, x, y, x, y);
+	}
+
+	void spawn(Entity e, int x, int y) {
+		add(SPAWN, e, x, y, x, y);
+	}
+
+	private void add(int kind, Entity e, int x0, int y0, int x1, int y1) {
+		if (size == CAPACITY) return;
+		kinds[size] = kind;
+		entities[size] = e;
+		fromX[size] = x0;
+		fromY[size] = y0;
+		toX[size] = x1;
+		toY[size] = y1;
+		size++;
+	}
+
+	void clear() {
+		for (int i = 0; i < size; i++) {
+			entities[i] = null;
+		}
+		size = 0;
+	}
+
+	public int size() { return size; }
+	public int getKind(int i) { return kinds[i]; }
+	public Entity getEntity(int i) { return entities[i]; }
+	public int getFromX(int i) { return fromX[i]; }
+	public int getFromY(int i) { return fromY[i]; }
+	public int getToX(int i) { return toX[i]; }
+	public int getToY(int i) { return toY[i]; }
+}
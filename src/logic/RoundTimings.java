@@ -0,0 +1,67 @@
+package logic;
+
+/**
+ * How long the engine took for the last rounds, split into the prey's AI, the player's
+ * move, the apex's AI and logging, in a fixed ring of the last HISTORY rounds.
+ * * Task: Feeds the GamePanel's performance HUD. Recording a round is a few array stores;
+ * the parts exclude the time spent inside the logger, which is counted on its own, so the
+ * parts plus logging add up to at most the round's total (the rest is round bookkeeping).
+ * The prey part is the prey move that opens the next round, which the same click runs.
+ * Methods: getLast, getAverage, getMax, getCount.
+ */
+public class RoundTimings {
+
+	public static final int PREY = 0;
+	public static final int PLAYER = 1;
+	public static final int APEX = 2;
+	public static final int LOGGING = 3;
+	public static final int TOTAL = 4;
+	private static final int PARTS = 5;
+
+	/** Rounds kept for the average and the maximum. */
+	public static final int HISTORY = 64;
+
+	private final long[][] nanos = new long[PARTS][HISTORY];
+	private int next;
+	private int count;
+
+	void record(long prey, long player, long apex, long logging, long total) {
+		nanos[PREY][next] = prey;
+		nanos[PLAYER][next] = player;
+		nanos[APEX][next] = apex;
+		nanos[LOGGING][next] = logging;
+		nanos[TOTAL][next] = total;
+		next = (next + 1) % HISTORY;
+		if (count < HISTORY) count++;
+	}
+
+	/** @return Nanoseconds the part took in the last round, 0 before the first. */
+	public long getLast(int part) {
+		if (count == 0) return 0;
+		return nanos[part][(next + HISTORY - 1) % HISTORY];
+	}
+
+	/** @return Average nanoseconds of the part over the kept rounds. */
+	public long getAverage(int part) {
+		if (count == 0) return 0;
+		long sum = 0;
+		for (int i = 0; i < count; i++) {
+			sum += nanos[part][i];
+		}
+		return sum / count;
+	}
+
+	/** @return Largest nanoseconds of the part over the kept rounds. */
+	public long getMax(int part) {
+		long max = 0;
+		for (int i = 0; i < count; i++) {
+			max = Math.max(max, nanos[part][i]);
+		}
+		return max;
+	}
+
+	/** @return The number of rounds kept (at most HISTORY). */
+	public int getCount() {
+		return count;
+	}
+}
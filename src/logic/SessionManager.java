@@ -0,0 +1,134 @@
+package logic;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.LogFiles;
+
+/**
+ * Hosts many independent games inside one JVM (e.g. one per user).
+ * Every session gets its own GameEngine, log file, save file and seeded random source,
+ * with all session logs kept in one rotated, size-limited "logs" directory,
+ * and runs on its own virtual thread, so idle sessions cost only a parked thread.
+ * * Task: Creates, looks up and shuts down sessions; bounds per-session memory and
+ * limits how many sessions compute a round at the same time.
+ * Methods: createSession, getSession, closeSession, shutdown.
+ */
+public class SessionManager {
+
+	/** Largest board a hosted session may use; keeps the memory per session bounded. */
+	public static final int MAX_SESSION_GRID_SIZE = 100;
+	/** Smallest board a session may use; the same minimum as the start screen and SweepRunner. */
+	public static final int MIN_SESSION_GRID_SIZE = 10;
+
+	private final File baseDirectory;
+	private final Semaphore activeSlots;
+	private final LogFiles logFiles;
+	private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+	private final Map<String, Thread> threads = new ConcurrentHashMap<>();
+	private final AtomicLong nextId = new AtomicLong(1);
+
+	/**
+	 * Creates a manager whose sessions store their files under the given directory.
+	 * At most one session per CPU core computes a round at any time; waiting
+	 * sessions are served in arrival order.
+	 * * @param baseDirectory The root directory for per-session files.
+	 */
+	public SessionManager(File baseDirectory) {
+		this(baseDirectory, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a manager with an explicit limit on concurrently active sessions.
+	 * * @param baseDirectory   The root directory for per-session files.
+	 * @param maxActiveSessions How many sessions may compute at the same time.
+	 */
+	public SessionManager(File baseDirectory, int maxActiveSessions) {
+		this.baseDirectory = baseDirectory;
+		this.activeSlots = new Semaphore(maxActiveSessions, true);
+		this.logFiles = new LogFiles(new File(baseDirectory, "logs").toPath());
+	}
+
+	/**
+	 * Creates and starts a new session.
+	 * * @param gridSize  The dimension of the square grid.
+	 * @param maxRounds The total number of rounds.
+	 * @param mode      The selected Era ("Past", "Present", "Future").
+	 * @param seed      Seed of the session's random source.
+	 * @return The running session.
+	 * @throws IOException If the session directory cannot be created.
+	 */
+	public GameSession createSession(int gridSize, int maxRounds, String mode, long seed) throws IOException {
+		if (gridSize < MIN_SESSION_GRID_SIZE || gridSize > MAX_SESSION_GRID_SIZE) {
+			throw new IllegalArgumentException("Grid size must be between " + MIN_SESSION_GRID_SIZE + " and "
+					+ MAX_SESSION_GRID_SIZE + ".");
+		}
+
+		String id = "session-" + nextId.getAndIncrement();
+		File directory = new File(baseDirectory, id);
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create session directory: " + directory);
+		}
+
+		GameSession session = new GameSession(id, directory, logFiles, gridSize, maxRounds, mode, seed, activeSlots);
+		sessions.put(id, session);
+
+		Thread thread = Thread.ofVirtual().name(id).unstarted(() -> {
+			try {
+				session.run();
+			} finally {
+				sessions.remove(id);
+				threads.remove(id);
+			}
+		});
+		threads.put(id, thread);
+		thread.start();
+		return session;
+	}
+
+	/**
+	 * @param id The session identifier.
+	 * @return The session, or null if it does not exist (anymore).
+	 */
+	public GameSession getSession(String id) {
+		return sessions.get(id);
+	}
+
+	public Collection<GameSession> getSessions() {
+		return Collections.unmodifiableCollection(sessions.values());
+	}
+
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Stops a session after the commands it has already queued.
+	 * @param id The session identifier.
+	 */
+	public void closeSession(String id) {
+		GameSession session = sessions.get(id);
+		if (session != null) {
+			session.stop();
+		}
+	}
+
+	/**
+	 * Stops every session immediately and waits for their threads to end.
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public void shutdown() throws InterruptedException {
+		for (Thread thread : threads.values()) {
+			thread.interrupt();
+		}
+		for (Thread thread : threads.values()) {
+			thread.join();
+		}
+	}
+}
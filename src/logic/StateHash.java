@@ -0,0 +1,46 @@
+package logic;
+
+/**
+ * Zobrist-style keys for the incremental game state hash.
+ * Each feature of the state (an entity of some role standing on a tile, an animal's
+ * score and cooldown) maps to a pseudo-random 64-bit key; the state hash is the XOR of
+ * the keys of all features present, so a change costs two XORs (remove old, add new).
+ * * Task: Generates the keys. Instead of a pre-filled random table, which would have to
+ * grow with the board, keys are derived from the feature with the SplitMix64 finalizer.
+ * This keeps them identical on every machine and JDK.
+ * Methods: positionKey, animalKey.
+ */
+public final class StateHash {
+
+	private static final long POSITION_SALT = 0x9E3779B97F4A7C15L;
+	private static final long ANIMAL_SALT = 0xC2B2AE3D27D4EB4FL;
+
+	private StateHash() {
+	}
+
+	/**
+	 * @param role The entity's role index.
+	 * @param x    X coordinate.
+	 * @param y    Y coordinate.
+	 * @return Key of "an entity of this role stands on (x, y)".
+	 */
+	public static long positionKey(int role, int x, int y) {
+		return mix(POSITION_SALT ^ ((long) role << 56) ^ ((long) x << 28) ^ y);
+	}
+
+	/**
+	 * @param role     The animal's role index.
+	 * @param score    Current score.
+	 * @param cooldown Current ability cooldown.
+	 * @return Key of "the animal of this role has this score and cooldown".
+	 */
+	public static long animalKey(int role, int score, int cooldown) {
+		return mix(ANIMAL_SALT ^ ((long) role << 56) ^ ((long) cooldown << 32) ^ (score & 0xFFFFFFFFL));
+	}
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
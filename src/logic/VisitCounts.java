@@ -0,0 +1,57 @@
+package logic;
+
+/**
+ * How often an animal has arrived on each tile of the board (moves and respawns).
+ * * Task: Backs the GamePanel's heatmap overlay. The counters are plain ints in blocks of
+ * BLOCK x BLOCK tiles that are only allocated once an animal enters them, so a large board
+ * costs memory only where the game actually went. The largest count is kept up to date, so
+ * a view can scale its colours without scanning the board.
+ * Methods: visit, get, getMax, getSize.
+ */
+public class VisitCounts {
+
+	private static final int BLOCK_SHIFT = 6;
+	private static final int BLOCK = 1 << BLOCK_SHIFT;
+
+	private final int size;
+	private final int blocksPerSide;
+	private final int[][] blocks;
+	private int max;
+
+	public VisitCounts(int size) {
+		this.size = size;
+		this.blocksPerSide = (size + BLOCK - 1) >> BLOCK_SHIFT;
+		this.blocks = new int[blocksPerSide * blocksPerSide][];
+	}
+
+	void visit(int x, int y) {
+		if (x < 0 || y < 0 || x >= size || y >= size) return;
+		int b = (x >> BLOCK_SHIFT) * blocksPerSide + (y >> BLOCK_SHIFT);
+		int[] block = blocks[b];
+		if (block == null) {
+			block = new int[BLOCK * BLOCK];
+			blocks[b] = block;
+		}
+		int count = ++block[((x & (BLOCK - 1)) << BLOCK_SHIFT) | (y & (BLOCK - 1))];
+		if (count > max) max = count;
+	}
+
+	/**
+	 * @return The number of arrivals on the tile; 0 outside the board.
+	 */
+	public int get(int x, int y) {
+		if (x < 0 || y < 0 || x >= size || y >= size) return 0;
+		int[] block = blocks[(x >> BLOCK_SHIFT) * blocksPerSide + (y >> BLOCK_SHIFT)];
+		if (block == null) return 0;
+		return block[((x & (BLOCK - 1)) << BLOCK_SHIFT) | (y & (BLOCK - 1))];
+	}
+
+	/** @return The largest count of any tile (0 before the first visit). */
+	public int getMax() {
+		return max;
+	}
+
+	public int getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,90 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * Command-line tool that compares the state hashes of two game logs.
+ * Both runs must use the same seed (see the GAME_START line) and inputs; the tool reports the first round
+ * whose ROUND_END hash differs, or that the runs stayed in lockstep.
+ * * Usage: java main.LockstepVerifier runA.log runB.log
+ */
+public class LockstepVerifier {
+
+	private static final String ROUND_END = "ROUND_END r=";
+	private static final String HASH = "hash=";
+
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("Usage: java main.LockstepVerifier <logA> <logB>");
+			System.exit(2);
+		}
+
+		try {
+			int divergentRound = findFirstDivergence(args[0], args[1]);
+			if (divergentRound < 0) {
+				System.out.println("Runs are in lockstep.");
+			} else {
+				System.out.println("Runs diverge at round " + divergentRound + ".");
+				System.exit(1);
+			}
+		} catch (IOException e) {
+			System.err.println("Verification failed: " + e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * Streams both logs side by side, comparing one ROUND_END line at a time.
+	 * * @param logA Path of the first log.
+	 * @param logB Path of the second log.
+	 * @return The first round whose hash differs (or that only one run reached), or -1.
+	 * @throws IOException If a log cannot be read or has no hashes.
+	 */
+	public static int findFirstDivergence(String logA, String logB) throws IOException {
+		try (BufferedReader a = new BufferedReader(new FileReader(logA));
+			 BufferedReader b = new BufferedReader(new FileReader(logB))) {
+
+			while (true) {
+				String lineA = nextRoundEnd(a);
+				String lineB = nextRoundEnd(b);
+
+				if (lineA == null && lineB == null) return -1;
+				if (lineA == null) return parseRound(lineB);
+				if (lineB == null) return parseRound(lineA);
+
+				int round = parseRound(lineA);
+				if (round != parseRound(lineB) || !parseHash(lineA).equals(parseHash(lineB))) {
+					return round;
+				}
+			}
+		}
+	}
+
+	private static String nextRoundEnd(BufferedReader reader) throws IOException {
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.contains(ROUND_END)) return line;
+		}
+		return null;
+	}
+
+	private static int parseRound(String line) throws IOException {
+		int start = line.indexOf(ROUND_END) + ROUND_END.length();
+		int end = line.indexOf('/', start);
+		try {
+			return Integer.parseInt(line.substring(start, end));
+		} catch (RuntimeException e) {
+			throw new IOException("Malformed ROUND_END line: " + line);
+		}
+	}
+
+	private static String parseHash(String line) throws IOException {
+		int start = line.indexOf(HASH);
+		if (start < 0) {
+			throw new IOException("ROUND_END line has no state hash: " + line);
+		}
+		return line.substring(start + HASH.length()).trim();
+	}
+}
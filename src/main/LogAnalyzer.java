@@ -0,0 +1,343 @@
+package main;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import io.EventLog;
+import model.DietRules;
+
+/**
+ * Command-line tool that computes statistics over many binary event logs (see io.EventLog).
+ * Files are memory-mapped and scanned record by record without decoding any text;
+ * files are processed in parallel and their statistics merged at the end.
+ * * Reports: eats per round (by eater and victim), ability usage per role,
+ * rounds until the first capture of an animal, and win rates per food chain.
+ * * Usage: java main.LogAnalyzer <file or directory>... (directories are searched for *.evt)
+ */
+public class LogAnalyzer {
+
+	public static final String EVENT_LOG_EXTENSION = ".evt";
+
+	// Magic, version, grid size and max rounds, followed by HEADER_STRINGS length-prefixed strings.
+	private static final int FIXED_HEADER_BYTES = 12;
+	// The era and the four food chain names.
+	private static final int HEADER_STRINGS = 5;
+
+	// Largest mapped window; a multiple of the record size.
+	private static final long MAX_MAP_BYTES = (Integer.MAX_VALUE / EventLog.RECORD_SIZE) * (long) EventLog.RECORD_SIZE;
+
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.err.println("Usage: java main.LogAnalyzer <file or directory>...");
+			System.exit(2);
+		}
+
+		try {
+			List<Path> files = collectFiles(args);
+			long start = System.nanoTime();
+			Stats stats = analyze(files);
+			long millis = (System.nanoTime() - start) / 1_000_000;
+
+			stats.print();
+			System.out.println(String.format("Analyzed %d files (%d MB) in %d ms.",
+					files.size(), stats.bytes / (1024 * 1024), millis));
+		} catch (IOException | UncheckedIOException e) {
+			System.err.println("Analysis failed: " + e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * Expands the arguments to the list of event log files.
+	 */
+	static List<Path> collectFiles(String[] args) throws IOException {
+		List<Path> files = new ArrayList<>();
+		for (String arg : args) {
+			Path path = Paths.get(arg);
+			if (Files.isDirectory(path)) {
+				try (Stream<Path> walk = Files.walk(path)) {
+					walk.filter(p -> p.getFileName().toString().endsWith(EVENT_LOG_EXTENSION))
+						.filter(Files::isRegularFile)
+						.forEach(files::add);
+				}
+			} else {
+				files.add(path);
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Scans all files in parallel.
+	 * @param files The event logs.
+	 * @return The merged statistics.
+	 */
+	public static Stats analyze(List<Path> files) {
+		return files.parallelStream().collect(Stats::new, LogAnalyzer::scan, Stats::merge);
+	}
+
+	/**
+	 * Adds one event log (one game) to the statistics. A file that is not a readable event
+	 * log is skipped with a message instead of failing the whole analysis.
+	 */
+	private static void scan(Stats stats, Path file) {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < FIXED_HEADER_BYTES || readInt(channel, 0) != EventLog.MAGIC) {
+				System.err.println("Skipping " + file + ": not an event log.");
+				return;
+			}
+			long headerBytes = headerLength(channel, size);
+			if (headerBytes < 0) {
+				System.err.println("Skipping " + file + ": truncated header.");
+				return;
+			}
+			MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerBytes);
+			head.order(ByteOrder.LITTLE_ENDIAN);
+
+			head.getInt();   // magic
+			int version = head.getShort();
+			if (version != EventLog.VERSION) {
+				System.err.println("Skipping " + file + ": unsupported version " + version + ".");
+				return;
+			}
+			head.getShort(); // grid size
+			head.getInt();   // max rounds
+			String era = readString(head);
+			StringBuilder chain = new StringBuilder(era).append(':');
+			for (int i = 0; i < 4; i++) {
+				if (i > 0) chain.append('/');
+				chain.append(readString(head));
+			}
+
+			Game game = new Game();
+			long position = head.position();
+			long recordBytes = (size - position) / EventLog.RECORD_SIZE * EventLog.RECORD_SIZE;
+			long end = position + recordBytes;
+
+			while (position < end) {
+				long length = Math.min(end - position, MAX_MAP_BYTES);
+				MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+				records.order(ByteOrder.LITTLE_ENDIAN);
+				for (int offset = 0; offset < length; offset += EventLog.RECORD_SIZE) {
+					game.accept(records, offset);
+				}
+				position += length;
+			}
+
+			stats.add(chain.toString(), game, size);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read " + file, e);
+		} catch (RuntimeException e) {
+			System.err.println("Skipping " + file + ": " + e);
+		}
+	}
+
+	/**
+	 * Walks the header's string lengths to find where the records start.
+	 * @return The header length in bytes, or -1 if the file ends inside the header.
+	 */
+	private static long headerLength(FileChannel channel, long size) throws IOException {
+		long position = FIXED_HEADER_BYTES;
+		for (int i = 0; i < HEADER_STRINGS; i++) {
+			if (position + 2 > size) return -1;
+			position += 2 + readUnsignedShort(channel, position);
+		}
+		return position <= size ? position : -1;
+	}
+
+	private static int readInt(FileChannel channel, long position) throws IOException {
+		return read(channel, position, 4).getInt(0);
+	}
+
+	private static int readUnsignedShort(FileChannel channel, long position) throws IOException {
+		return read(channel, position, 2).getShort(0) & 0xFFFF;
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException();
+		}
+		return buffer;
+	}
+
+	private static String readString(MappedByteBuffer buffer) {
+		int length = buffer.getShort() & 0xFFFF;
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Counters of a single game while its records are scanned.
+	 */
+	private static final class Game {
+		private final long[][] eats = new long[DietRules.ROLE_COUNT][DietRules.ROLE_COUNT];
+		private final long[] abilities = new long[DietRules.ROLE_COUNT];
+		private int rounds;
+		private int firstCapture = -1;
+		private int winner = Integer.MIN_VALUE;
+
+		private void accept(MappedByteBuffer records, int offset) {
+			byte type = records.get(offset);
+			int actor = records.get(offset + 1);
+			int other = records.get(offset + 2);
+			int round = records.getInt(offset + 4);
+
+			switch (type) {
+				case EventLog.EAT:
+					if (isRole(actor) && isRole(other)) {
+						eats[actor][other]++;
+						if (other != DietRules.FOOD && firstCapture < 0) {
+							firstCapture = round;
+						}
+					}
+					break;
+				case EventLog.ABILITY:
+					if (isRole(actor)) abilities[actor]++;
+					break;
+				case EventLog.ROUND_END:
+					rounds = Math.max(rounds, round + 1);
+					break;
+				case EventLog.GAME_OVER:
+					winner = actor;
+					break;
+				default:
+					break;
+			}
+		}
+
+		private static boolean isRole(int role) {
+			return role >= 0 && role < DietRules.ROLE_COUNT;
+		}
+	}
+
+	/**
+	 * Statistics over any number of games; instances are merged after the parallel scan.
+	 */
+	public static final class Stats {
+		private long files;
+		private long bytes;
+		private long finishedGames;
+		private long rounds;
+		private final long[][] eats = new long[DietRules.ROLE_COUNT][DietRules.ROLE_COUNT];
+		private final long[] abilities = new long[DietRules.ROLE_COUNT];
+		private long capturedGames;
+		private long firstCaptureRounds;
+		// Per food chain: wins of apex, predator, prey, then draws, then finished games.
+		private final Map<String, long[]> results = new TreeMap<>();
+
+		private void add(String chain, Game game, long size) {
+			files++;
+			bytes += size;
+			rounds += game.rounds;
+			for (int i = 0; i < DietRules.ROLE_COUNT; i++) {
+				abilities[i] += game.abilities[i];
+				for (int j = 0; j < DietRules.ROLE_COUNT; j++) {
+					eats[i][j] += game.eats[i][j];
+				}
+			}
+			if (game.firstCapture >= 0) {
+				capturedGames++;
+				firstCaptureRounds += game.firstCapture;
+			}
+			if (game.winner != Integer.MIN_VALUE) {
+				finishedGames++;
+				long[] counts = results.computeIfAbsent(chain, k -> new long[5]);
+				counts[game.winner >= 0 && game.winner < 3 ? game.winner : 3]++;
+				counts[4]++;
+			}
+		}
+
+		private void merge(Stats other) {
+			files += other.files;
+			bytes += other.bytes;
+			finishedGames += other.finishedGames;
+			rounds += other.rounds;
+			for (int i = 0; i < DietRules.ROLE_COUNT; i++) {
+				abilities[i] += other.abilities[i];
+				for (int j = 0; j < DietRules.ROLE_COUNT; j++) {
+					eats[i][j] += other.eats[i][j];
+				}
+			}
+			capturedGames += other.capturedGames;
+			firstCaptureRounds += other.firstCaptureRounds;
+			other.results.forEach((chain, counts) -> {
+				long[] mine = results.computeIfAbsent(chain, k -> new long[5]);
+				for (int i = 0; i < mine.length; i++) mine[i] += counts[i];
+			});
+		}
+
+		public long getFiles() { return files; }
+		public long getRounds() { return rounds; }
+		public long getFinishedGames() { return finishedGames; }
+		public long getCapturedGames() { return capturedGames; }
+
+		/**
+		 * @return Total eats of every eater/victim pair, indexed by role.
+		 */
+		public long getEats(int eaterRole, int victimRole) {
+			return eats[eaterRole][victimRole];
+		}
+
+		public long getAbilityUses(int role) {
+			return abilities[role];
+		}
+
+		private void print() {
+			System.out.println(String.format("Games: %d (%d finished), rounds: %d", files, finishedGames, rounds));
+
+			long totalEats = 0;
+			System.out.println("Eats per round:");
+			for (int i = 0; i < DietRules.ROLE_COUNT; i++) {
+				for (int j = 0; j < DietRules.ROLE_COUNT; j++) {
+					if (eats[i][j] == 0) continue;
+					totalEats += eats[i][j];
+					System.out.println(String.format("  %-8s eats %-8s %.4f", DietRules.roleName(i),
+							DietRules.roleName(j), perRound(eats[i][j])));
+				}
+			}
+			System.out.println(String.format("  %-21s %.4f", "all", perRound(totalEats)));
+
+			System.out.println("Ability uses per game:");
+			for (int i = 0; i < DietRules.ROLE_COUNT; i++) {
+				if (abilities[i] == 0) continue;
+				System.out.println(String.format("  %-8s %.3f", DietRules.roleName(i),
+						files > 0 ? (double) abilities[i] / files : 0));
+			}
+
+			System.out.println(String.format("First capture: %d of %d games, after %.2f rounds on average",
+					capturedGames, files, capturedGames > 0 ? (double) firstCaptureRounds / capturedGames : 0));
+
+			System.out.println("Win rates per food chain (apex / predator / prey / draw):");
+			results.forEach((chain, counts) -> System.out.println(String.format(
+					"  %s  %.1f%% / %.1f%% / %.1f%% / %.1f%%  (%d games)", chain,
+					percent(counts[0], counts[4]), percent(counts[1], counts[4]),
+					percent(counts[2], counts[4]), percent(counts[3], counts[4]), counts[4])));
+		}
+
+		private double perRound(long count) {
+			return rounds > 0 ? (double) count / rounds : 0;
+		}
+
+		private static double percent(long part, long whole) {
+			return whole > 0 ? 100.0 * part / whole : 0;
+		}
+	}
+}
@@ -1,11 +1,35 @@
 package main;
 
 import gui.GameFrame; 
+import io.FoodChainRegistry;
+import io.FoodChainWatcher;
+import java.io.IOException;
+import java.nio.file.Paths;
 import javax.swing.SwingUtilities;
 
+/**
+ * Starts the game.
+ * * Usage: java main.Main [--watch <dir>]
+ * With --watch the food chain files (past.txt, present.txt, future.txt) are read from the
+ * given directory (e.g. assets) and reloaded whenever they change; new games use the new chains.
+ */
 public class Main {
 
 	public static void main(String[] args) {
+
+		try {
+			FoodChainRegistry.getDefault();
+		} catch (IOException e) {
+			System.err.println("Invalid food chain files: " + e.getMessage());
+		}
+
+		if (args.length == 2 && args[0].equals("--watch")) {
+			try {
+				FoodChainWatcher.start(Paths.get(args[1]));
+			} catch (IOException e) {
+				System.err.println("Cannot watch " + args[1] + ": " + e.getMessage());
+			}
+		}
 		
 		SwingUtilities.invokeLater(new Runnable() {
 			@Override
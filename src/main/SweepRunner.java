@@ -0,0 +1,279 @@
+package main;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import exceptions.InvalidMoveException;
+import io.EventLog;
+import io.GameLogger;
+import io.LogFiles;
+import io.LogLevel;
+import logic.AIController;
+import logic.GameEngine;
+import logic.GameRandom;
+import logic.ResourceField;
+import model.animals.Animal;
+
+/**
+ * Command-line parameter sweep: plays every combination of grid size, round count
+ * and era headlessly (the player is driven by AIController) on a thread pool, and
+ * streams one CSV row per game as soon as it finishes.
+ * * Task: Capacity planning. Nothing is kept per game after its row is written, and at
+ * most a few games per worker are in flight, so sweeps of millions of games run in
+ * constant memory.
+ * * Usage: java main.SweepRunner --grid 10:50:10 --rounds 10:100:30 --eras Past,Present,Future
+ *          --games 100 --seed 1 --threads 8 --out sweep.csv [--field true] [--log-dir logs] [--events events]
+ * Ranges are "from:to:step" (inclusive) or a single value. With --field true the games use
+ * the regrowing food field instead of a single food item. With --log-dir every game writes
+ * run_<n>.log holding only its summary lines (GAME_START, FOOD_CHAIN, GAME_OVER); per-move
+ * messages are filtered before they are built. Old logs are pruned to the LogFiles retention limits.
+ * With --events every game also writes a binary event log run_<n>.evt there, for main.LogAnalyzer.
+ */
+public class SweepRunner {
+
+	private static final String HEADER = "run,era,grid_size,max_rounds,seed,winner_role,winner,"
+			+ "player_score,apex_score,prey_score,score_spread,rounds_played,wall_ns,ns_per_round,alloc_bytes";
+
+	private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+	public static void main(String[] args) {
+		int[] grids = {20};
+		int[] rounds = {30};
+		String[] eras = {"Past", "Present", "Future"};
+		int games = 10;
+		long seed = 1;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String out = "sweep.csv";
+		boolean field = false;
+		String logDir = null;
+		String eventDir = null;
+
+		try {
+			for (int i = 0; i + 1 < args.length; i += 2) {
+				String value = args[i + 1];
+				switch (args[i]) {
+					case "--grid": grids = parseRange(value); break;
+					case "--rounds": rounds = parseRange(value); break;
+					case "--eras": eras = value.split(","); break;
+					case "--games": games = Integer.parseInt(value); break;
+					case "--seed": seed = Long.parseLong(value); break;
+					case "--threads": threads = Integer.parseInt(value); break;
+					case "--out": out = value; break;
+					case "--field": field = Boolean.parseBoolean(value); break;
+					case "--log-dir": logDir = value; break;
+					case "--events": eventDir = value; break;
+					default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+				}
+			}
+		} catch (RuntimeException e) {
+			System.err.println("Invalid arguments: " + e.getMessage());
+			System.exit(2);
+		}
+
+		for (int g : grids) {
+			if (g < 10) {
+				System.err.println("Grid size must be at least 10.");
+				System.exit(2);
+			}
+		}
+
+		try {
+			LogFiles logFiles = logDir != null ? new LogFiles(Paths.get(logDir)) : null;
+			Path events = eventDir != null ? Paths.get(eventDir) : null;
+			long submitted = (long) eras.length * grids.length * rounds.length * games;
+			long completed = run(grids, rounds, eras, games, seed, threads, out, field, logFiles, events);
+			if (logFiles != null) {
+				// Background prunes ran while the last games still held their logs.
+				LogFiles.awaitCompression();
+				logFiles.prune();
+			}
+			System.out.println("Sweep finished: " + completed + " games written to " + out);
+			if (completed < submitted) {
+				System.err.println((submitted - completed) + " of " + submitted + " games failed (see above).");
+				System.exit(1);
+			}
+		} catch (IOException | InterruptedException e) {
+			System.err.println("Sweep failed: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs the sweep and writes the CSV.
+	 * @return The number of games played to the end and written; failed games are not counted.
+	 */
+	static long run(int[] grids, int[] rounds, String[] eras, int games, long baseSeed, int threads, String out,
+			boolean field, LogFiles logFiles, Path eventDir) throws IOException, InterruptedException {
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		Semaphore inFlight = new Semaphore(threads * 4);
+		AtomicLong runIds = new AtomicLong();
+		AtomicLong completed = new AtomicLong();
+
+		try (BufferedWriter csv = new BufferedWriter(new FileWriter(out), 1 << 16)) {
+			csv.write(HEADER);
+			csv.newLine();
+
+			for (String era : eras) {
+				for (int gridSize : grids) {
+					for (int maxRounds : rounds) {
+						for (int g = 0; g < games; g++) {
+							long run = runIds.getAndIncrement();
+							long seed = spreadSeed(baseSeed * 0x9E3779B97F4A7C15L + run);
+							String eraName = era.trim();
+
+							inFlight.acquire();
+							pool.execute(() -> {
+								try {
+									String row = playOne(run, eraName, gridSize, maxRounds, seed, field, logFiles, eventDir);
+									synchronized (csv) {
+										csv.write(row);
+										csv.newLine();
+									}
+									completed.incrementAndGet();
+								} catch (IOException | RuntimeException e) {
+									System.err.println("Run " + run + " failed: " + e.getMessage());
+								} finally {
+									inFlight.release();
+								}
+							});
+						}
+					}
+				}
+			}
+
+			pool.shutdown();
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		} finally {
+			pool.shutdownNow();
+		}
+		return completed.get();
+	}
+
+	/**
+	 * Plays one headless game to the end and formats its CSV row.
+	 */
+	private static String playOne(long run, String era, int gridSize, int maxRounds, long seed, boolean field,
+			LogFiles logFiles, Path eventDir) throws IOException {
+		long threadId = Thread.currentThread().threadId();
+		long allocBefore = allocatedBytes(threadId);
+		long start = System.nanoTime();
+
+		GameRandom random = new GameRandom(seed);
+		ResourceField resourceField = field ? new ResourceField(gridSize, 0.3f, 0.05f, 0.1f) : null;
+		GameLogger logger = GameLogger.disabled();
+		if (logFiles != null) {
+			logger = logFiles.newLogger("run_" + run, 0);
+			logger.setLevel(LogLevel.SUMMARY);
+		}
+		EventLog events = null;
+		GameEngine engine;
+		try {
+			if (eventDir != null) {
+				events = EventLog.create(eventDir.resolve("run_" + run + LogAnalyzer.EVENT_LOG_EXTENSION));
+			}
+			engine = new GameEngine(gridSize, maxRounds, era, logger, random, resourceField, events);
+			engine.setSoundEnabled(false);
+
+			while (!engine.isGameOver()) {
+				int[] move = AIController.getNextMoveForPlayer(engine, random);
+				try {
+					engine.processPlayerMove(move[0], move[1]);
+				} catch (InvalidMoveException e) {
+					try {
+						engine.processPlayerMove(engine.getPlayer().getX(), engine.getPlayer().getY());
+					} catch (InvalidMoveException stayRejected) {
+						throw new IllegalStateException("Player cannot move or stay.", stayRejected);
+					}
+				}
+			}
+		} finally {
+			logger.dispose();
+			if (events != null) events.close();
+		}
+		long wall = System.nanoTime() - start;
+		long alloc = THREADS != null ? allocatedBytes(threadId) - allocBefore : -1;
+
+		Animal player = engine.getPlayer();
+		Animal apex = engine.getApex();
+		Animal prey = engine.getPrey();
+		String winner = engine.getWinner();
+
+		int high = Math.max(player.getScore(), Math.max(apex.getScore(), prey.getScore()));
+		int low = Math.min(player.getScore(), Math.min(apex.getScore(), prey.getScore()));
+		int played = engine.getCurrentRound();
+
+		return run + "," + era + "," + gridSize + "," + maxRounds + "," + seed + ","
+				+ winnerRole(engine.getWinnerRole(), player, apex, prey) + "," + csvField(winner) + ","
+				+ player.getScore() + "," + apex.getScore() + "," + prey.getScore() + ","
+				+ (high - low) + "," + played + "," + wall + "," + (played > 0 ? wall / played : 0) + ","
+				+ alloc;
+	}
+
+	/**
+	 * Scrambles consecutive seeds (SplitMix64 finalizer). The first value drawn from
+	 * java.util.Random with nearby seeds is strongly correlated, which would make the
+	 * food chain choice of consecutive runs skip most chains.
+	 */
+	private static long spreadSeed(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	private static String winnerRole(int role, Animal player, Animal apex, Animal prey) {
+		if (role == player.getRole()) return player.getType();
+		if (role == apex.getRole()) return apex.getType();
+		if (role == prey.getRole()) return prey.getType();
+		return "Draw";
+	}
+
+	private static String csvField(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0) return value;
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * Parses "from:to:step" (inclusive) or a single number.
+	 */
+	static int[] parseRange(String spec) {
+		String[] parts = spec.split(":");
+		int from = Integer.parseInt(parts[0].trim());
+		int to = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : from;
+		int step = parts.length > 2 ? Integer.parseInt(parts[2].trim()) : 1;
+		if (step <= 0 || to < from) {
+			throw new IllegalArgumentException("Invalid range: " + spec);
+		}
+
+		int[] values = new int[(to - from) / step + 1];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = from + i * step;
+		}
+		return values;
+	}
+
+	private static com.sun.management.ThreadMXBean allocationBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported()) {
+				sunBean.setThreadAllocatedMemoryEnabled(true);
+				return sunBean;
+			}
+		}
+		return null;
+	}
+
+	private static long allocatedBytes(long threadId) {
+		return THREADS != null ? THREADS.getThreadAllocatedBytes(threadId) : -1;
+	}
+}
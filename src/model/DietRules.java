@@ -0,0 +1,129 @@
+package model;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The food web compiled into role-indexed matrices.
+ * Rows are the eater's role, columns the victim's role; a cell holds the points
+ * the eater gains, the points the victim loses and the reason written to the log.
+ * * Task: Answers "can X eat Y?" and "what does it score?" with array lookups.
+ * Methods: compile, canEat, getPointsGained, getPointsLost, getReason, roleOf.
+ */
+public class DietRules implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int APEX = 0;
+	public static final int PREDATOR = 1;
+	public static final int PREY = 2;
+	public static final int FOOD = 3;
+	public static final int ROLE_COUNT = 4;
+
+	private static final String[] ROLE_NAMES = {"Apex", "Predator", "Prey", "Food"};
+
+	/** The built-in food web, identical to the shipped rules.txt. */
+	public static final DietRules DEFAULT = createDefault();
+
+	private final boolean[][] edible = new boolean[ROLE_COUNT][ROLE_COUNT];
+	private final int[][] gained = new int[ROLE_COUNT][ROLE_COUNT];
+	private final int[][] lost = new int[ROLE_COUNT][ROLE_COUNT];
+	private final String[][] reasons = new String[ROLE_COUNT][ROLE_COUNT];
+
+	private DietRules() {
+	}
+
+	/**
+	 * Compiles rule lines of the form "Rule: Eater, Victim, gained, lost, REASON".
+	 * Lines that do not start with "Rule" (comments, blanks) are ignored.
+	 * * @param lines The raw lines of a rules file.
+	 * @return The compiled rule table.
+	 * @throws IOException If a rule line is malformed or names an unknown role.
+	 */
+	public static DietRules compile(List<String> lines) throws IOException {
+		DietRules rules = new DietRules();
+		int count = 0;
+
+		for (String raw : lines) {
+			String line = raw.trim();
+			if (!line.startsWith("Rule")) continue;
+
+			int colon = line.indexOf(':');
+			if (colon < 0) {
+				throw new IOException("Invalid rule (missing ':'): " + line);
+			}
+
+			String[] parts = line.substring(colon + 1).split(",");
+			if (parts.length != 5) {
+				throw new IOException("Expected 5 fields (Eater,Victim,Gained,Lost,Reason), found: " + line);
+			}
+
+			int eater = roleOf(parts[0].trim());
+			int victim = roleOf(parts[1].trim());
+			if (eater < 0 || victim < 0 || eater == FOOD) {
+				throw new IOException("Unknown or invalid role in rule: " + line);
+			}
+
+			try {
+				rules.define(eater, victim, Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()), parts[4].trim());
+			} catch (NumberFormatException e) {
+				throw new IOException("Invalid points in rule: " + line);
+			}
+			count++;
+		}
+
+		if (count == 0) {
+			throw new IOException("No 'Rule' lines found.");
+		}
+		return rules;
+	}
+
+	private static DietRules createDefault() {
+		DietRules rules = new DietRules();
+		rules.define(PREY, FOOD, 3, 0, "EAT_FOOD");
+		rules.define(PREDATOR, PREY, 3, 1, "PREDATOR_EATS_PREY");
+		rules.define(APEX, PREDATOR, 1, 1, "APEX_EATS_ANIMAL");
+		rules.define(APEX, PREY, 1, 1, "APEX_EATS_ANIMAL");
+		return rules;
+	}
+
+	private void define(int eater, int victim, int pointsGained, int pointsLost, String reason) {
+		edible[eater][victim] = true;
+		gained[eater][victim] = pointsGained;
+		lost[eater][victim] = pointsLost;
+		reasons[eater][victim] = reason;
+	}
+
+	/**
+	 * Maps a role name ("Apex", "Predator", "Prey", "Food") to its index.
+	 * @param roleName The role name, case-insensitive.
+	 * @return The role index, or -1 if unknown.
+	 */
+	public static int roleOf(String roleName) {
+		for (int i = 0; i < ROLE_COUNT; i++) {
+			if (ROLE_NAMES[i].equalsIgnoreCase(roleName)) return i;
+		}
+		return -1;
+	}
+
+	public static String roleName(int role) {
+		return ROLE_NAMES[role];
+	}
+
+	public boolean canEat(int eater, int victim) {
+		return edible[eater][victim];
+	}
+
+	public int getPointsGained(int eater, int victim) {
+		return gained[eater][victim];
+	}
+
+	public int getPointsLost(int eater, int victim) {
+		return lost[eater][victim];
+	}
+
+	public String getReason(int eater, int victim) {
+		return reasons[eater][victim];
+	}
+}
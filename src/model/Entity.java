@@ -4,9 +4,10 @@ import java.io.Serializable;
 
 /**
  * Represents the base class for all objects on the grid (Animals and Food).
- * It holds the fundamental coordinate data and a display symbol.
+ * It holds the fundamental coordinate data and the entity's interned Species,
+ * from which name, role and sprite key are read.
  * * Task: Provides a common structure for position and serialization.
- * Methods: Position getters/setters.
+ * Methods: Position getters/setters, getSpecies, getName, getRole, getSpriteKey.
  */
 public abstract class Entity implements Serializable {
 	
@@ -14,11 +15,12 @@ public abstract class Entity implements Serializable {
 
 	protected int x;
 	protected int y;
-	protected char symbol; 
-	public Entity(int x, int y, char symbol) {
+	protected final Species species;
+
+	public Entity(int x, int y, Species species) {
 		this.x = x;
 		this.y = y;
-		this.symbol = symbol;
+		this.species = species;
 	}
 
 	/**
@@ -49,6 +51,39 @@ public abstract class Entity implements Serializable {
 	}
 
 	public char getSymbol() {
-		return symbol;
+		return species.getRole() == DietRules.FOOD ? 'F' : species.getName().charAt(0);
+	}
+
+	public Species getSpecies() {
+		return species;
+	}
+
+	/**
+	 * @return The role index used by the diet rules (see DietRules).
+	 */
+	public int getRole() {
+		return species.getRole();
+	}
+
+	/**
+	 * @return The species name (e.g. "Cheetah") or food name (e.g. "Grass").
+	 */
+	public String getName() {
+		return species.getName();
+	}
+
+	/**
+	 * @return The sprite file name (under /images, without ".png"), resolved once per species.
+	 */
+	public String getSpriteKey() {
+		return species.getSpriteKey();
+	}
+
+	/**
+	 * @param name A species or food name.
+	 * @return The default sprite key of a name: lower case without spaces or dashes.
+	 */
+	public static String spriteKeyOf(String name) {
+		return name.toLowerCase().replaceAll("[\\s-]", "");
 	}
 }
@@ -0,0 +1,65 @@
+package model;
+
+/**
+ * One food chain of an era: the four species names in role order plus a selection weight.
+ * * Task: Immutable value shared by every game that picks this chain; the names are
+ * copied out on request, so callers cannot change the registry's copy.
+ */
+public final class FoodChain {
+
+	private final String era;
+	private final int index;
+	private final String[] names;
+	private final String[] spriteKeys;
+	private final int weight;
+
+	/**
+	 * @param era        The era the chain belongs to.
+	 * @param index      Position of the chain in its era file (0-based).
+	 * @param names      {Apex, Predator, Prey, Food}.
+	 * @param spriteKeys Sprite name under /images for each name (without ".png"), or null if missing.
+	 * @param weight     Relative selection weight (at least 1).
+	 */
+	public FoodChain(String era, int index, String[] names, String[] spriteKeys, int weight) {
+		if (names.length != DietRules.ROLE_COUNT || spriteKeys.length != DietRules.ROLE_COUNT) {
+			throw new IllegalArgumentException("A food chain has exactly " + DietRules.ROLE_COUNT + " names.");
+		}
+		this.era = era;
+		this.index = index;
+		this.names = names.clone();
+		this.spriteKeys = spriteKeys.clone();
+		this.weight = weight;
+	}
+
+	public String getEra() { return era; }
+	public int getIndex() { return index; }
+	public int getWeight() { return weight; }
+
+	/**
+	 * @param role A role index (see DietRules).
+	 * @return The species name for that role.
+	 */
+	public String getName(int role) {
+		return names[role];
+	}
+
+	/**
+	 * @param role A role index (see DietRules).
+	 * @return The sprite key for that role, or null if no sprite exists.
+	 */
+	public String getSpriteKey(int role) {
+		return spriteKeys[role];
+	}
+
+	/**
+	 * @return A copy of {Apex, Predator, Prey, Food}.
+	 */
+	public String[] getNames() {
+		return names.clone();
+	}
+
+	@Override
+	public String toString() {
+		return era + " #" + (index + 1) + ": " + String.join(", ", names);
+	}
+}
@@ -19,6 +19,15 @@ public class GameState implements Serializable {
 	private String mode;
 	private Grid grid;
 	private List<Animal> animals;
+	private Food food;
+
+	private String[] foodChainNames;
+	private boolean hasRandomState;
+	private long randomState;
+	private float[] fieldDensities;
+	private float fieldRegrowthRate;
+	private float fieldDiffusionRate;
+	private float grazed;
 
 	public GameState(int round, int maxRounds, String mode, Grid grid, List<Animal> animals) {
 		this.round = round;
@@ -32,6 +41,10 @@ public class GameState implements Serializable {
 	public int getRound() { 
 		return round; 
 	}
+
+	public void setRound(int round) {
+		this.round = round;
+	}
 	
 	public int getMaxRounds() { 
 		return maxRounds; 
@@ -48,4 +61,66 @@ public class GameState implements Serializable {
 	public List<Animal> getAnimals() { 
 		return animals; 
 	}
+
+	/**
+	 * @return The Food entity placed on the grid, or null if there is none.
+	 */
+	public Food getFood() {
+		return food;
+	}
+
+	public void setFood(Food food) {
+		this.food = food;
+	}
+
+	public String[] getFoodChainNames() {
+		return foodChainNames;
+	}
+
+	public void setFoodChainNames(String[] foodChainNames) {
+		this.foodChainNames = foodChainNames;
+	}
+
+	public boolean hasRandomState() {
+		return hasRandomState;
+	}
+
+	public long getRandomState() {
+		return randomState;
+	}
+
+	public void setRandomState(long randomState) {
+		this.randomState = randomState;
+		this.hasRandomState = true;
+	}
+
+	/**
+	 * @return The resource field densities (x * size + y), or null in classic food mode.
+	 */
+	public float[] getFieldDensities() {
+		return fieldDensities;
+	}
+
+	public float getFieldRegrowthRate() {
+		return fieldRegrowthRate;
+	}
+
+	public float getFieldDiffusionRate() {
+		return fieldDiffusionRate;
+	}
+
+	public void setField(float[] densities, float regrowthRate, float diffusionRate, float grazed) {
+		this.fieldDensities = densities;
+		this.fieldRegrowthRate = regrowthRate;
+		this.fieldDiffusionRate = diffusionRate;
+		this.grazed = grazed;
+	}
+
+	public float getGrazed() {
+		return grazed;
+	}
+
+	public void setGrazed(float grazed) {
+		this.grazed = grazed;
+	}
 }
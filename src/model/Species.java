@@ -0,0 +1,212 @@
+package model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One interned species (or food kind) of an era, with everything derived from its
+ * name, role and era computed once: sprite key, ability stencil, range, cooldown and the
+ * era-specific ability rules.
+ * * Task: Entities refer to their Species instead of carrying name/type/era strings and
+ * comparing them on every move check and every frame. Each distinct (name, role, era)
+ * exists once and has a small numeric id. The food chain registry interns every species
+ * of the era files when it publishes them, together with the sprite file it found; names that
+ * only appear in a save file are interned on first use. If a reloaded era file finds another
+ * sprite for a name, intern replaces the species, so new games use the new sprite while
+ * entities of running games keep the instance they were created with.
+ * Methods: of, intern, byId, canReach, getters.
+ */
+public final class Species implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String PAST = "Past";
+	public static final String PRESENT = "Present";
+	public static final String FUTURE = "Future";
+
+	/** Largest ability distance on either axis; the stencil covers 0..MAX_REACH. */
+	private static final int MAX_REACH = 3;
+
+	private static final Map<String, Species> interned = new HashMap<>();
+	private static volatile Species[] table = new Species[0];
+
+	private final int id;
+	private final String name;
+	private final int role;
+	private final String era;
+	private final String spriteKey;
+	private final int abilityStencil;
+	private final int abilityRange;
+	private final int maxCooldown;
+	private final String abilityName;
+	private final boolean abilityAlwaysReady;
+	private final boolean abilityNeedsApex;
+	private final boolean abilitySkipsFood;
+
+	private Species(int id, String name, int role, String era, String spriteKey) {
+		this.id = id;
+		this.name = name;
+		this.role = role;
+		this.era = era;
+		this.spriteKey = spriteKey != null ? spriteKey : Entity.spriteKeyOf(name);
+
+		boolean presentPredator = PRESENT.equals(era) && role == DietRules.PREDATOR;
+		boolean futurePrey = FUTURE.equals(era) && role == DietRules.PREY;
+
+		int stencil = 0;
+		for (int dx = 0; dx <= MAX_REACH; dx++) {
+			for (int dy = 0; dy <= MAX_REACH; dy++) {
+				if (isAbilityGeometry(era, role, dx, dy)) stencil |= 1 << (dx * (MAX_REACH + 1) + dy);
+			}
+		}
+		this.abilityStencil = stencil;
+
+		if ((PRESENT.equals(era) && role == DietRules.APEX)
+				|| (FUTURE.equals(era) && (role == DietRules.APEX || role == DietRules.PREY))) {
+			this.abilityRange = 3;
+		} else {
+			this.abilityRange = 2;
+		}
+
+		if (presentPredator) {
+			this.maxCooldown = 0;
+		} else if ((PRESENT.equals(era) && (role == DietRules.APEX || role == DietRules.PREY))
+				|| (FUTURE.equals(era) && role == DietRules.APEX)) {
+			this.maxCooldown = 3;
+		} else {
+			this.maxCooldown = 2;
+		}
+
+		this.abilityName = role == DietRules.APEX ? "Sprint" : role == DietRules.PREDATOR ? "Dash" : "Hop";
+		this.abilityAlwaysReady = presentPredator;
+		this.abilityNeedsApex = presentPredator;
+		this.abilitySkipsFood = futurePrey;
+	}
+
+	/**
+	 * The ability geometry of each era and role, by distance on each axis.
+	 */
+	private static boolean isAbilityGeometry(String era, int role, int dx, int dy) {
+		int distance = Math.max(dx, dy);
+
+		if (PAST.equals(era)) {
+			if (role == DietRules.PREDATOR || role == DietRules.APEX) {
+				return (dx == 0 && dy == 2) || (dx == 2 && dy == 0);
+			}
+			if (role == DietRules.PREY) {
+				return (dx == 1 && dy == 1) || (dx == 2 && dy == 1) || (dx == 1 && dy == 2);
+			}
+		} else if (PRESENT.equals(era)) {
+			if (role == DietRules.APEX) {
+				return (dx == 0 && dy >= 1 && dy <= 3)
+					|| (dy == 0 && dx >= 1 && dx <= 3)
+					|| (dx == dy && dx >= 1 && dx <= 3);
+			}
+			if (role == DietRules.PREY) {
+				return (dx == 2 && dy == 0)
+					|| (dx == 0 && dy == 2)
+					|| (dx == 2 && dy == 2);
+			}
+			if (role == DietRules.PREDATOR) {
+				return distance <= 2;
+			}
+		} else if (FUTURE.equals(era)) {
+			if (role == DietRules.APEX) return distance <= 3;
+			if (role == DietRules.PREY) {
+				return (dx == 3 && dy == 0)
+					|| (dx == 0 && dy == 3)
+					|| (dx == 3 && dy == 3);
+			}
+			if (role == DietRules.PREDATOR) {
+				return (dx == 2 && dy == 0)
+					|| (dx == 0 && dy == 2)
+					|| (dx == 2 && dy == 2);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the interned species, creating it on first use with the default sprite key.
+	 * @param name The species or food name.
+	 * @param role The role index (see DietRules); -1 for an unknown role.
+	 * @param era  The era; ignored for food, which looks the same in every era.
+	 */
+	public static Species of(String name, int role, String era) {
+		return lookup(name, role, era, null, false);
+	}
+
+	/**
+	 * Returns the interned species with the given sprite key, creating it if it does not exist
+	 * or replacing it if it was interned with another one.
+	 * @param spriteKey The sprite file found for the name (without ".png"), or null for the default key.
+	 */
+	public static Species intern(String name, int role, String era, String spriteKey) {
+		return lookup(name, role, era, spriteKey, true);
+	}
+
+	private static synchronized Species lookup(String name, int role, String era, String spriteKey,
+			boolean replaceSprite) {
+		String speciesEra = role == DietRules.FOOD ? null : era;
+		String key = role + "/" + speciesEra + "/" + name;
+		Species species = interned.get(key);
+		if (species == null || (replaceSprite
+				&& !species.spriteKey.equals(spriteKey != null ? spriteKey : Entity.spriteKeyOf(name)))) {
+			Species[] grown = Arrays.copyOf(table, table.length + 1);
+			species = new Species(table.length, name, role, speciesEra, spriteKey);
+			grown[species.id] = species;
+			table = grown;
+			interned.put(key, species);
+		}
+		return species;
+	}
+
+	/**
+	 * @param id A species id.
+	 * @return The species with that id.
+	 */
+	public static Species byId(int id) {
+		return table[id];
+	}
+
+	/**
+	 * @param dx Distance on the X axis (absolute).
+	 * @param dy Distance on the Y axis (absolute).
+	 * @return true if the ability may move exactly this far.
+	 */
+	public boolean canReach(int dx, int dy) {
+		if (dx > MAX_REACH || dy > MAX_REACH) return false;
+		return (abilityStencil & 1 << (dx * (MAX_REACH + 1) + dy)) != 0;
+	}
+
+	public int getId() { return id; }
+	public String getName() { return name; }
+	public int getRole() { return role; }
+	/** @return The era, or null for food. */
+	public String getEra() { return era; }
+	public String getSpriteKey() { return spriteKey; }
+	public int getAbilityRange() { return abilityRange; }
+	public int getMaxCooldown() { return maxCooldown; }
+	public String getAbilityName() { return abilityName; }
+
+	/** @return true if the ability has no cooldown (Present predator). */
+	public boolean isAbilityAlwaysReady() { return abilityAlwaysReady; }
+
+	/** @return true if the ability may only be used next to the apex (Present predator's dash). */
+	public boolean isAbilityNeedsApex() { return abilityNeedsApex; }
+
+	/** @return true if an ability move may not end on food (Future prey). */
+	public boolean isAbilitySkipsFood() { return abilitySkipsFood; }
+
+	// A deserialized species is replaced by the interned one of this run (whose sprite key wins).
+	private Object readResolve() {
+		return lookup(name, role, era, spriteKey, false);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
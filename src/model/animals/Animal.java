@@ -2,13 +2,16 @@ package model.animals;
 
 import java.awt.Point;
 import java.io.Serializable;
+import model.DietRules;
 import model.Entity;
+import model.Species;
 
 /**
  * Represents an active agent in the game (Apex, Predator, or Prey).
  * Handles movement, abilities, cooldowns, and interactions.
  * * Task: Manages the state and behavior of animals on the grid.
- * Methods: checkMoveType, isValidAbilityGeometry, canEat, triggerAbilityCooldown
+ * The species (name, role, era, ability geometry and cooldown) is shared and interned.
+ * Methods: checkMoveType, canEat, triggerAbilityCooldown
  */
 public class Animal extends Entity implements Serializable {
 
@@ -16,46 +19,28 @@ public class Animal extends Entity implements Serializable {
 
 	protected int score;
 	protected boolean isAlive;
-	protected String name; 
 	
 	private int cooldown; 
-	private int maxAbilityCooldown;
 	
 	private Point position; 
-	private String type; 
-	private String era;  
+	private DietRules dietRules = DietRules.DEFAULT;
 
 	public Animal(String name, String type, String era, int x, int y) {
-		super(x, y, name.charAt(0));
+		this(Species.of(name, DietRules.roleOf(type), era), x, y);
+	}
+
+	/**
+	 * @param species The interned species (name, role, era and ability).
+	 * @param x       The X coordinate.
+	 * @param y       The Y coordinate.
+	 */
+	public Animal(Species species, int x, int y) {
+		super(x, y, species);
 		
-		this.name = name;
-		this.type = type;
-		this.era = era;
 		this.position = new Point(x, y);
 		this.score = 0;
 		this.isAlive = true;
-
-		assignProperties();
-	
-		this.cooldown = this.maxAbilityCooldown;	
-	}
-
-	private void assignProperties() {
-		
-		this.maxAbilityCooldown = 2;
-
-		
-		if (era.equals("Present") && type.equals("Predator")) {
-			this.maxAbilityCooldown = 0;
-			return;
-		}
-
-		if (era.equals("Present") && (type.equals("Apex") || type.equals("Prey"))) {
-			this.maxAbilityCooldown = 3;
-		}
-		else if (era.equals("Future") && type.equals("Apex")) {
-			this.maxAbilityCooldown = 3;
-		}
+		this.cooldown = species.getMaxCooldown();	
 	}
 
 
@@ -65,15 +50,25 @@ public class Animal extends Entity implements Serializable {
 	 * @return 0: Invalid, 1: Walk, 2: Ability, 3: Stay
 	 */
 	public int checkMoveType(Point target) {
+		return checkMoveType(target.x, target.y);
+	}
+
+	/**
+	 * Same as {@link #checkMoveType(Point)} without allocating a Point.
+	 * @param targetX The destination X coordinate.
+	 * @param targetY The destination Y coordinate.
+	 * @return 0: Invalid, 1: Walk, 2: Ability, 3: Stay
+	 */
+	public int checkMoveType(int targetX, int targetY) {
 		if (!isAlive) return 0;
 		if (this.position == null) return 0;
 
-		if (target.equals(this.position)) {
+		if (targetX == position.x && targetY == position.y) {
 			return 3; 
 		}
 
-		int dx = Math.abs(target.x - position.x);
-		int dy = Math.abs(target.y - position.y);
+		int dx = Math.abs(targetX - position.x);
+		int dy = Math.abs(targetY - position.y);
 		int distance = Math.max(dx, dy);
 
 		if (distance == 1) {
@@ -84,70 +79,14 @@ public class Animal extends Entity implements Serializable {
 			return 0; 
 		}
 
-		if (isValidAbilityGeometry(dx, dy)) {
+		// The era's ability geometry, precomputed per species.
+		if (species.canReach(dx, dy)) {
 			return 2; 
 		}
 
 		return 0;
 	}
 
-	/**
-	 * Validates if the move matches the specific geometry of the animal's ability.
-	 * @param dx Distance in X
-	 * @param dy Distance in Y
-	 * @return true if geometry is valid
-	 */
-	private boolean isValidAbilityGeometry(int dx, int dy) {
-		int distance = Math.max(dx, dy);
-
-		switch (era) {
-			case "Past":
-				if (type.equals("Predator")) {
-					return (dx == 0 && dy == 2) || (dx == 2 && dy == 0);
-				}
-				if (type.equals("Apex")) {
-					return (dx == 0 && dy == 2) || (dx == 2 && dy == 0);
-				}
-				if (type.equals("Prey")) {
-					return (dx == 1 && dy == 1) || (dx == 2 && dy == 1) || (dx == 1 && dy == 2);
-				}
-				break;
-
-			case "Present":
-				if (type.equals("Apex")) {
-					return (dx == 0 && dy >= 1 && dy <= 3)
-						|| (dy == 0 && dx >= 1 && dx <= 3)
-						|| (dx == dy && dx >= 1 && dx <= 3);
-				}
-				if (type.equals("Prey")) { 
-					return (dx == 2 && dy == 0)
-						|| (dx == 0 && dy == 2)
-						|| (dx == 2 && dy == 2);
-				}
-				if (type.equals("Predator")) {
-					return Math.max(dx, dy) <= 2;
-				}  
-				break;
-
-			case "Future":
-				if (type.equals("Apex")) return distance <= 3;
-				
-				
-				if (type.equals("Prey")) {
-					return (dx == 3 && dy == 0)
-						|| (dx == 0 && dy == 3)
-						|| (dx == 3 && dy == 3);
-				}  
-				if (type.equals("Predator")) { 
-					return (dx == 2 && dy == 0)
-						|| (dx == 0 && dy == 2)
-						|| (dx == 2 && dy == 2);
-				}
-				break;
-		}
-		return false;
-	}
-
 
 	/**
 	 * Checks if this entity is allowed to eat the target.
@@ -155,41 +94,18 @@ public class Animal extends Entity implements Serializable {
 	 * @return true if edible
 	 */
 	public boolean canEat(Entity target) {
-		if (this.type.equals("Prey")) {
-			return target.getClass().getSimpleName().equals("Food");
-		}
-
-		if (target instanceof Animal) {
-			Animal victim = (Animal) target;
-			
-			if (this.type.equals("Apex")) {
-				return !victim.getType().equals("Apex");
-			}
-
-			if (this.type.equals("Predator")) {
-				return victim.getType().equals("Prey");
-			}
-		}
-
-		return false;
+		int role = species.getRole();
+		int victimRole = target.getRole();
+		return role >= 0 && victimRole >= 0 && dietRules.canEat(role, victimRole);
 	}
 
 
 	public int getAbilityRange() {
-		if (era.equals("Present") && type.equals("Apex")) return 3;
-		if (era.equals("Future") && (type.equals("Apex") || type.equals("Prey"))) return 3;
-		return 2;
+		return species.getAbilityRange();
 	}
 
 	public String getAbilityName() {
-		if (type.equals("Apex")) { 
-			return "Sprint";
-		}
-		if (type.equals("Predator")) {
-			return "Dash";
-
-		}
-		return "Hop"; 
+		return species.getAbilityName();
 	}
 
 
@@ -197,8 +113,8 @@ public class Animal extends Entity implements Serializable {
 	 * Sets cooldown to max after ability usage.
 	 */
 	public void triggerAbilityCooldown() {
-		if (this.maxAbilityCooldown <= 0) return;
-		this.cooldown = this.maxAbilityCooldown;
+		if (species.getMaxCooldown() <= 0) return;
+		this.cooldown = species.getMaxCooldown();
 	}
 
 	/**
@@ -215,7 +131,7 @@ public class Animal extends Entity implements Serializable {
 	 * @return true if available
 	 */
 	public boolean isAbilityAvailable() {
-		if (era.equals("Present") && type.equals("Predator")) {
+		if (species.isAbilityAlwaysReady()) {
 			return true;
 		}
 		return cooldown == 0;
@@ -242,11 +158,18 @@ public class Animal extends Entity implements Serializable {
 	public int getAbilityCooldown() { return cooldown; } 
 	public void setCooldown(int cooldown) {	this.cooldown = cooldown; }
 	
-	public int getMaxAbilityCooldown() { return maxAbilityCooldown; }
+	public int getMaxAbilityCooldown() { return species.getMaxCooldown(); }
+
+	/** @return The role name ("Apex", "Predator", "Prey"). */
+	public String getType() {
+		int role = species.getRole();
+		return role >= 0 ? DietRules.roleName(role) : "Unknown";
+	}
+
+	public String getEra() { return species.getEra(); }
 
-	public String getName() { return name; }
-	public String getType() { return type; }
-	public String getEra() { return era; }
+	public DietRules getDietRules() { return dietRules; }
+	public void setDietRules(DietRules dietRules) { this.dietRules = dietRules; }
 
 	public Point getPosition() { return position; }
 	public void setPosition(Point position) { this.position = position; }